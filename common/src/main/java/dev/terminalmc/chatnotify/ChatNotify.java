@@ -19,7 +19,14 @@ package dev.terminalmc.chatnotify;
 import com.mojang.datafixers.util.Pair;
 import dev.terminalmc.chatnotify.compat.commandkeys.CommandKeysWrapper;
 import dev.terminalmc.chatnotify.config.*;
+import dev.terminalmc.chatnotify.gui.screen.OptionsScreen;
+import dev.terminalmc.chatnotify.match.MatchPlan;
+import dev.terminalmc.chatnotify.util.MessageUtil;
 import dev.terminalmc.chatnotify.util.ModLogger;
+import dev.terminalmc.chatnotify.util.ResponseScheduler;
+import dev.terminalmc.chatnotify.util.SendPacer;
+import dev.terminalmc.chatnotify.util.SentMessageStore;
+import dev.terminalmc.chatnotify.util.SoundDispatcher;
 import net.minecraft.ChatFormatting;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.components.toasts.SystemToast;
@@ -29,6 +36,7 @@ import net.minecraft.client.gui.screens.TitleScreen;
 import net.minecraft.network.chat.Component;
 
 import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static dev.terminalmc.chatnotify.util.Localization.localized;
 
@@ -41,47 +49,133 @@ public class ChatNotify {
             .append(Component.literal(MOD_NAME).withStyle(ChatFormatting.GOLD))
             .append(Component.literal("] ").withStyle(ChatFormatting.DARK_GRAY))
             .withStyle(ChatFormatting.GRAY);
-    public static boolean hasResetConfig = false;
+    public static volatile boolean hasResetConfig = false;
 
     /**
      * Stores messages recently sent by the client, for comparison with incoming 
      * messages to determine sender identity.
      */
-    public static final List<Pair<Long, String>> recentMessages = new ArrayList<>();
+    public static final SentMessageStore sentMessages = new SentMessageStore();
 
     /**
-     * Stores activated (but not sent) response messages.
+     * Schedules activated (but not sent) response messages.
      */
-    public static final List<ResponseMessage> responseMessages = new ArrayList<>();
+    public static final ResponseScheduler responseScheduler = new ResponseScheduler();
+
+    /**
+     * Paces sending of due response messages.
+     */
+    public static final SendPacer sendPacer = new SendPacer();
+
+    /**
+     * Collects notification sounds, to be played at the end of each tick.
+     */
+    public static final SoundDispatcher soundDispatcher = new SoundDispatcher();
 
     /**
      * Stores an unmodified copy of recent incoming chat messages.
      */
     public static final Queue<Component> unmodifiedChat = new LinkedList<>();
 
-    public static void init() {
-        Config.getAndSave();
-    }
+    /**
+     * The config loaded at init, and its compiled match plan, waiting to be
+     * installed on the client thread.
+     */
+    private static final AtomicReference<Pair<Config, MatchPlan>> pendingLoad = 
+            new AtomicReference<>();
 
-    public static void onConfigSaved(Config config) {
-        // Compile regex triggers
-        for (Notification notif : config.getNotifs()) {
-            for (Trigger trig : notif.triggers) {
-                if (trig.type == Trigger.Type.REGEX) trig.tryCompilePattern();
-                if (trig.styleTarget.type == StyleTarget.Type.REGEX) {
-                    trig.styleTarget.tryCompilePattern();
-                } else if (trig.styleTarget.type == StyleTarget.Type.CAPTURING) {
-                    trig.styleTarget.tryParseIndexes();
+    /**
+     * A config reloaded after being changed by another program, and its
+     * compiled match plan, waiting to be applied on the client thread.
+     */
+    private static final AtomicReference<Pair<Config, MatchPlan>> pendingReload = 
+            new AtomicReference<>();
+
+    public static void init() {
+        // Load the config and compile the match plan in the background, to be
+        // installed on the client thread. Then warm up message processing so
+        // that the first message after joining is not slowed by class loading
+        // and interpretation
+        Thread thread = new Thread(() -> {
+            MatchPlan plan = null;
+            try {
+                Config config = Config.preload();
+                if (config != null) {
+                    // The new config is not shared yet, so can be compiled here
+                    plan = MatchPlan.compile(config);
+                    pendingLoad.set(Pair.of(config, plan));
                 }
+            } catch (Exception e) {
+                LOG.error("Unable to preload config", e);
             }
-            for (Trigger trig : notif.exclusionTriggers) {
-                if (trig.type == Trigger.Type.REGEX) trig.tryCompilePattern();
+            ConfigWatcher.start(ChatNotify::onConfigFileChanged);
+            if (plan != null) {
+                try {
+                    MessageUtil.warmUp(plan);
+                } catch (Exception e) {
+                    LOG.error("Unable to warm up message processing", e);
+                }
             }
+        }, MOD_NAME + " init");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public static void onShutdown() {
+        ConfigWatcher.stop();
+        // Write any pending config save
+        Config.flush();
+    }
+
+    public static void onConfigSaved(Config config) {
+        // Discard any reload, as the file is being overwritten
+        pendingReload.set(null);
+        // Compile and publish the new match plan
+        MatchPlan.rebuild(config);
+    }
+
+    /**
+     * Reloads the config from file and compiles it, ready to be applied on
+     * the client thread.
+     *
+     * <p>Invoked on the {@link ConfigWatcher} thread when the config files
+     * have been changed by another program.</p>
+     *
+     * <p>If the config cannot be read, including if any notification file 
+     * it lists cannot be read, the reload is rejected and the current config
+     * is kept, rather than replacing it with a partial config.</p>
+     */
+    private static void onConfigFileChanged() {
+        Config config = Config.read();
+        if (config == null) {
+            LOG.warn("Unable to reload config from file, keeping current config");
+            return;
         }
+        // The new config is not shared yet, so can be compiled here
+        pendingReload.set(Pair.of(config, MatchPlan.compile(config, MatchPlan.getPublished())));
     }
 
     public static void onEndTick(Minecraft mc) {
         tickResponseMessages(mc);
+        if (!soundDispatcher.isEmpty()) {
+            soundDispatcher.tick(mc.getSoundManager(), MatchPlan.get().debug);
+        }
+        
+        // Install the config loaded at init, unless one was loaded first
+        Pair<Config, MatchPlan> load = pendingLoad.getAndSet(null);
+        if (load != null && Config.install(load.getFirst())) {
+            MatchPlan.publish(load.getSecond());
+        }
+        
+        // Apply reloaded config, unless it is being edited
+        if (!(mc.screen instanceof OptionsScreen)) {
+            Pair<Config, MatchPlan> reload = pendingReload.getAndSet(null);
+            if (reload != null) {
+                Config.replace(reload.getFirst());
+                MatchPlan.publish(reload.getSecond());
+                LOG.info("Reloaded config from file");
+            }
+        }
         
         // Config reset warning toast
         if (hasResetConfig && mc.screen instanceof TitleScreen) {
@@ -93,33 +187,31 @@ public class ChatNotify {
     }
 
     private static void tickResponseMessages(Minecraft mc) {
+        List<ResponseScheduler.Job> due = responseScheduler.tick();
         if (mc.getConnection() == null || !mc.getConnection().isAcceptingMessages()) {
-            responseMessages.clear();
+            responseScheduler.clear();
+            sendPacer.clear();
+            soundDispatcher.clear();
             return;
         }
         
-        List<String> sending = new ArrayList<>();
-        responseMessages.removeIf((resMsg) -> {
-            if (--resMsg.countdown <= 0) {
-                if (resMsg.sendingString != null && !resMsg.sendingString.isBlank()) {
-                    if (resMsg.type.equals(ResponseMessage.Type.COMMANDKEYS)) {
-                        CommandKeysWrapper.trySend(resMsg.sendingString);
-                    } else {
-                        sending.add(resMsg.sendingString);
-                    }
-                }
-                return true;
+        for (ResponseScheduler.Job job : due) {
+            if (job.type().equals(ResponseMessage.Type.COMMANDKEYS)) {
+                CommandKeysWrapper.trySend(job.string());
+            } else {
+                sendPacer.add(job.string());
             }
-            return false;
-        });
+        }
         
-        sendMessages(sending);
+        MatchPlan plan = MatchPlan.get();
+        sendMessages(plan.sendMode, 
+                sendPacer.tick(plan.sendMode, plan.sendInterval, plan.sendBurst));
     }
     
-    private static void sendMessages(List<String> messages) {
+    private static void sendMessages(Config.SendMode sendMode, List<String> messages) {
         if (messages.isEmpty()) return;
         Minecraft mc = Minecraft.getInstance();
-        switch (Config.get().sendMode) {
+        switch (sendMode) {
             case SCREEN -> {
                 // Compat mode for mods mixing into handleChatInput
                 Screen oldScreen = mc.screen;
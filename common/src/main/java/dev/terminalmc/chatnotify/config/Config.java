@@ -17,6 +17,8 @@
 package dev.terminalmc.chatnotify.config;
 
 import com.google.gson.*;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
 import dev.terminalmc.chatnotify.ChatNotify;
 import dev.terminalmc.chatnotify.util.JsonUtil;
 import net.minecraft.sounds.SoundSource;
@@ -24,12 +26,18 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.io.*;
-import java.lang.reflect.Type;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Supplier;
 
 /**
@@ -48,22 +56,29 @@ import java.util.function.Supplier;
  * the enum.</p>
  */
 public class Config {
-    public static final int VERSION = 9;
+    public static final int VERSION = 13;
     public final int version = VERSION;
-    private static final Path DIR_PATH = Path.of("config");
+    static final Path DIR_PATH = Path.of("config");
     public static final String FILE_NAME = ChatNotify.MOD_ID + ".json";
     public static final String UNREADABLE_FILE_NAME = ChatNotify.MOD_ID + ".unreadable.json";
     public static final String OLD_FILE_NAME = ChatNotify.MOD_ID + ".old.json";
+    static final Path SHARD_DIR_PATH = DIR_PATH.resolve(ChatNotify.MOD_ID);
     public static final Gson GSON = new GsonBuilder()
-            .registerTypeAdapter(Config.class, new Deserializer())
-            .registerTypeAdapter(Notification.class, new Notification.Deserializer())
-            .registerTypeAdapter(Sound.class, new Sound.Deserializer())
-            .registerTypeAdapter(TextStyle.class, new TextStyle.Deserializer())
-            .registerTypeAdapter(Trigger.class, new Trigger.Deserializer())
-            .registerTypeAdapter(StyleTarget.class, new StyleTarget.Deserializer())
-            .registerTypeAdapter(ResponseMessage.class, new ResponseMessage.Deserializer())
+            .registerTypeAdapter(Config.class, new Adapter().nullSafe())
+            .registerTypeAdapter(Notification.class, new Notification.Adapter().nullSafe())
+            .registerTypeAdapter(Sound.class, new Sound.Adapter().nullSafe())
+            .registerTypeAdapter(TextStyle.class, new TextStyle.Adapter().nullSafe())
+            .registerTypeAdapter(Trigger.class, new Trigger.Adapter().nullSafe())
+            .registerTypeAdapter(StyleTarget.class, new StyleTarget.Adapter().nullSafe())
+            .registerTypeAdapter(ResponseMessage.class, new ResponseMessage.Adapter().nullSafe())
             .setPrettyPrinting()
             .create();
+    /**
+     * Reads the config without modifying any files, see {@link Config#read}.
+     */
+    private static final Gson READ_GSON = GSON.newBuilder()
+            .registerTypeAdapter(Config.class, new Adapter(true).nullSafe())
+            .create();
 
     // Options
 
@@ -114,6 +129,21 @@ public class Config {
         SCREEN,
     }
 
+    /**
+     * The number of ticks for one {@link ResponseMessage} to be allowed to
+     * send, once the {@link Config#sendBurst} is used, or {@code 0} for no 
+     * limit.
+     */
+    public int sendInterval;
+    public static final int sendIntervalDefault = 20;
+
+    /**
+     * The number of {@link ResponseMessage}s that can be sent at once, before
+     * being limited by {@link Config#sendInterval}.
+     */
+    public int sendBurst;
+    public static final int sendBurstDefault = 5;
+
     /**
      * Controls how messages are identified as sent by the user.
      */
@@ -123,6 +153,36 @@ public class Config {
         SENT_MATCH,
     }
 
+    /**
+     * Controls which engine is used to match regex {@link Trigger}s and
+     * {@link StyleTarget}s.
+     */
+    public RegexEngine regexEngine;
+    public enum RegexEngine {
+        JAVA,
+        LINEAR,
+    }
+
+    /**
+     * The maximum time in microseconds that a single regex evaluation may
+     * take before it is aborted, or {@code 0} for no limit.
+     */
+    public int regexBudget;
+    public static final int regexBudgetDefault = 5000;
+
+    /**
+     * Controls how the config is stored on file.
+     *
+     * <p>{@link StorageMode#SHARDED} stores the global options in 
+     * {@link Config#FILE_NAME} and each {@link Notification} in a separate
+     * file, so that saves only rewrite the files that have changed.</p>
+     */
+    public StorageMode storageMode;
+    public enum StorageMode {
+        SINGLE,
+        SHARDED,
+    }
+
     /**
      * Whether messages identified as sent by the user should be able to 
      * activate {@link Notification}s.
@@ -175,7 +235,12 @@ public class Config {
                 NotifMode.values()[0],
                 RestyleMode.values()[0],
                 SendMode.values()[0],
+                sendIntervalDefault,
+                sendBurstDefault,
                 SenderDetectionMode.values()[0],
+                RegexEngine.values()[0],
+                regexBudgetDefault,
+                StorageMode.values()[0],
                 checkOwnMessagesDefault,
                 soundSourceDefault,
                 defaultColorDefault,
@@ -194,7 +259,12 @@ public class Config {
             NotifMode notifMode,
             RestyleMode restyleMode,
             SendMode sendMode,
+            int sendInterval,
+            int sendBurst,
             SenderDetectionMode senderDetectionMode,
+            RegexEngine regexEngine,
+            int regexBudget,
+            StorageMode storageMode,
             boolean checkOwnMessages,
             SoundSource soundSource,
             int defaultColor,
@@ -207,7 +277,12 @@ public class Config {
         this.notifMode = notifMode;
         this.restyleMode = restyleMode;
         this.sendMode = sendMode;
+        this.sendInterval = sendInterval;
+        this.sendBurst = sendBurst;
         this.senderDetectionMode = senderDetectionMode;
+        this.regexEngine = regexEngine;
+        this.regexBudget = regexBudget;
+        this.storageMode = storageMode;
         this.checkOwnMessages = checkOwnMessages;
         this.soundSource = soundSource;
         this.defaultColor = defaultColor;
@@ -216,6 +291,31 @@ public class Config {
         this.notifications = notifications;
     }
 
+    /**
+     * Copy constructor, copying every {@link Notification}.
+     */
+    Config(Config config) {
+        this(
+                config.detectionMode,
+                config.debugMode,
+                config.notifMode,
+                config.restyleMode,
+                config.sendMode,
+                config.sendInterval,
+                config.sendBurst,
+                config.senderDetectionMode,
+                config.regexEngine,
+                config.regexBudget,
+                config.storageMode,
+                config.checkOwnMessages,
+                config.soundSource,
+                config.defaultColor,
+                new Sound(config.defaultSound),
+                new ArrayList<>(config.prefixes),
+                new ArrayList<>(config.notifications.stream().map(Notification::new).toList())
+        );
+    }
+
     // Username
 
     public Notification getUserNotif() {
@@ -224,11 +324,20 @@ public class Config {
     }
 
     public void setProfileName(String name) {
-        getUserNotif().triggers.getFirst().string = name;
+        setUserTrigger(0, name);
     }
 
     public void setDisplayName(String name) {
-        getUserNotif().triggers.get(1).string = name;
+        setUserTrigger(1, name);
+    }
+
+    private void setUserTrigger(int index, String name) {
+        Notification notif = getUserNotif();
+        Trigger trigger = notif.triggers.get(index);
+        if (!name.equals(trigger.string)) {
+            trigger.string = name;
+            notif.markDirty();
+        }
     }
 
     // Notifications
@@ -267,7 +376,7 @@ public class Config {
 
     /**
      * Removes the {@link Notification} at the source index to the destination 
-     * index in the list, if possible, 
+     * index in the list, if possible,
      *
      * <p><b>Note:</b> Will fail without error if either index is 0.</p>
      * @param sourceIndex the index of the element to move.
@@ -284,29 +393,131 @@ public class Config {
 
     // Instance management
 
-    private static Config instance = null;
+    /**
+     * The loaded config. Replaced under the class lock so that the first load
+     * (which may happen in the background, see {@link ChatNotify#init}) only
+     * happens once, but read without locking once loaded.
+     */
+    private static volatile Config instance = null;
 
     public static Config get() {
-        if (instance == null) {
-            instance = Config.load();
+        Config config = instance;
+        if (config == null) {
+            synchronized (Config.class) {
+                if (instance == null) {
+                    instance = Config.load();
+                }
+                config = instance;
+            }
         }
-        return instance;
+        return config;
     }
 
-    public static Config getAndSave() {
+    public static synchronized Config getAndSave() {
         get();
         save();
         return instance;
     }
 
-    public static Config resetAndSave() {
+    public static synchronized Config resetAndSave() {
         instance = new Config();
         save();
         return instance;
     }
 
+    /**
+     * Loads the config from file without installing it, unless one has 
+     * already been loaded. May be invoked on any thread.
+     *
+     * <p>The returned {@link Config} is not shared until passed to 
+     * {@link Config#install}, so may be compiled on the calling thread.</p>
+     * @return the loaded {@link Config}, or {@code null} if one has already
+     * been loaded.
+     */
+    public static synchronized @Nullable Config preload() {
+        return instance == null ? load() : null;
+    }
+
+    /**
+     * Installs the specified {@link Config} loaded by {@link Config#preload},
+     * and schedules it to be written to file, unless a config has been loaded
+     * in the meantime.
+     * @return {@code true} if the config was installed, {@code false} if it
+     * was discarded.
+     */
+    public static synchronized boolean install(Config config) {
+        if (instance != null) return false;
+        instance = config;
+        scheduleWrite(config);
+        return true;
+    }
+
+    /**
+     * Replaces the current instance with the specified {@link Config},
+     * without saving.
+     *
+     * <p>Transient state of each {@link Notification} is carried over to the
+     * {@link Notification} with the same id, if any.</p>
+     */
+    public static synchronized void replace(Config config) {
+        if (instance != null) {
+            Map<String, Notification> oldNotifs = new HashMap<>();
+            for (Notification notif : instance.notifications) {
+                oldNotifs.put(notif.id, notif);
+            }
+            for (Notification notif : config.notifications) {
+                Notification oldNotif = oldNotifs.get(notif.id);
+                if (oldNotif != null) {
+                    notif.regexOverruns = oldNotif.regexOverruns;
+                    notif.regexOverrunDisabled = oldNotif.regexOverrunDisabled;
+                    notif.activationLimiter = oldNotif.activationLimiter;
+                }
+            }
+        }
+        instance = config;
+    }
+
     // Load and save
 
+    /**
+     * The delay between a save and the resulting write, during which further
+     * saves are collapsed into the same write.
+     */
+    private static final long SAVE_DELAY_MS = 500;
+    private static final ScheduledExecutorService SAVE_EXECUTOR = 
+            Executors.newSingleThreadScheduledExecutor((runnable) -> {
+                Thread thread = new Thread(runnable, ChatNotify.MOD_NAME + " config save");
+                thread.setDaemon(true);
+                return thread;
+            });
+    /**
+     * The latest snapshot not yet written to file, if any.
+     */
+    private static final AtomicReference<Config> pendingSave = new AtomicReference<>();
+    /**
+     * Serializes writes to file. Separate from the class lock so that
+     * {@link Config#get} callers never wait for file I/O.
+     */
+    private static final Object FLUSH_LOCK = new Object();
+    /**
+     * Whether the last write failed, in which case every 
+     * {@link Notification} file is rewritten by the next. Guarded by 
+     * {@link Config#FLUSH_LOCK}.
+     */
+    private static boolean writeFailed = false;
+    /**
+     * The key of the list of {@link Notification} ids that replaces the
+     * notification list in {@link Config#FILE_NAME} when using 
+     * {@link StorageMode#SHARDED}.
+     */
+    private static final String SHARDS_KEY = "shards";
+    /**
+     * The modification time of each file as last written, used to ignore
+     * changes made by this class when watching for changes, see 
+     * {@link ConfigWatcher}.
+     */
+    private static final Map<Path, FileTime> writeTimes = new ConcurrentHashMap<>();
+
     public static @NotNull Config load() {
         Path file = DIR_PATH.resolve(FILE_NAME);
         Config config = null;
@@ -324,6 +535,20 @@ public class Config {
         return config != null ? config : new Config();
     }
 
+    /**
+     * Reads the config from file, without replacing the current instance or
+     * modifying any files.
+     * @return the {@link Config}, or {@code null} if the file does not exist
+     * or could not be read, including if any {@link Notification} file listed
+     * by it could not be read.
+     */
+    public static @Nullable Config read() {
+        Path file = DIR_PATH.resolve(FILE_NAME);
+        if (!Files.exists(file)) return null;
+        JsonUtil.reset();
+        return load(file, READ_GSON);
+    }
+
     private static @Nullable Config load(Path file, Gson gson) {
         try (InputStreamReader reader = new InputStreamReader(
                 new FileInputStream(file.toFile()), StandardCharsets.UTF_8)) {
@@ -336,6 +561,67 @@ public class Config {
         }
     }
 
+    /**
+     * Reads the {@link Notification} file of each of the specified ids in
+     * parallel.
+     *
+     * <p>If not strict, any file that cannot be read is moved aside and 
+     * skipped, and if the first file cannot be read, a new user name 
+     * {@link Notification} takes its place.</p>
+     * @param strict whether to fail if any file cannot be read, without
+     *               modifying any files.
+     * @throws JsonParseException if strict and any file cannot be read.
+     */
+    private static List<Notification> loadShards(List<String> ids, boolean strict) {
+        List<Notification> loaded = ids.parallelStream()
+                .map((id) -> loadShard(id, strict))
+                .toList();
+        List<Notification> notifs = new ArrayList<>();
+        for (Notification notif : loaded) {
+            if (notif != null) {
+                notifs.add(notif);
+            } else if (strict) {
+                throw new JsonParseException("Unable to load all notification files");
+            } else if (notifs.isEmpty()) {
+                // Keep the user's name at index 0, so that the next
+                // notification is not mistaken for it
+                notifs.add(Notification.createUser());
+            }
+        }
+        return notifs;
+    }
+
+    private static @Nullable Notification loadShard(String id, boolean strict) {
+        if (!Notification.ID_PATTERN.matcher(id).matches()) {
+            ChatNotify.LOG.error("Invalid notification id '{}'", id);
+            return null;
+        }
+        Path file = SHARD_DIR_PATH.resolve(id + ".json");
+        try {
+            try (InputStreamReader reader = new InputStreamReader(
+                    new FileInputStream(file.toFile()), StandardCharsets.UTF_8)) {
+                Notification notif = GSON.fromJson(reader, Notification.class);
+                // Matches the file until edited
+                if (notif != null) notif.dirty = false;
+                return notif;
+            }
+        } catch (Exception e) {
+            // Catch Exception as errors in deserialization may not fall under
+            // IOException or JsonParseException, but should not crash the game.
+            ChatNotify.LOG.error("Unable to load notification file {}", file, e);
+            if (!strict && Files.exists(file)) {
+                // Move aside so that it is not deleted by the next save
+                try {
+                    Files.move(file, file.resolveSibling(file.getFileName() + ".unreadable"),
+                            StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                } catch (IOException e2) {
+                    ChatNotify.LOG.error("Unable to move notification file", e2);
+                }
+            }
+            return null;
+        }
+    }
+
     private static void backup(String path) {
         try {
             ChatNotify.LOG.warn("Copying {} to {}", FILE_NAME, path);
@@ -349,24 +635,175 @@ public class Config {
         }
     }
 
+    /**
+     * Validates the config and publishes it, then schedules it to be written
+     * to file.
+     *
+     * <p>Only a copy of the config is taken on the calling thread. The copy is
+     * serialized and written on a background thread after 
+     * {@link Config#SAVE_DELAY_MS},
+     * and saves made in the meantime replace it, so that a burst of saves 
+     * results in a single write.</p>
+     */
     public static void save() {
         if (instance == null) return;
         instance.validate();
+        scheduleWrite(instance);
+        ChatNotify.onConfigSaved(instance);
+    }
+
+    /**
+     * Copies the specified {@link Config} and schedules the copy to be 
+     * written, see {@link Config#save}.
+     *
+     * <p>The dirtiness of each {@link Notification} moves to the copy, and
+     * is merged with that of any unwritten copy it replaces.</p>
+     */
+    private static void scheduleWrite(Config config) {
+        Config snapshot = new Config(config);
+        boolean sharded = config.storageMode == StorageMode.SHARDED;
+        for (int i = 0; i < config.notifications.size(); i++) {
+            Notification notif = config.notifications.get(i);
+            snapshot.notifications.get(i).dirty = notif.dirty;
+            // Notification files are only written when sharded
+            if (sharded) notif.dirty = false;
+        }
+        Config previous;
+        do {
+            previous = pendingSave.get();
+            if (previous != null) {
+                Set<String> dirtyIds = new HashSet<>();
+                for (Notification notif : previous.notifications) {
+                    if (notif.dirty) dirtyIds.add(notif.id);
+                }
+                for (Notification notif : snapshot.notifications) {
+                    if (dirtyIds.contains(notif.id)) notif.dirty = true;
+                }
+            }
+        } while (!pendingSave.compareAndSet(previous, snapshot));
+        if (previous == null) {
+            SAVE_EXECUTOR.schedule(Config::flush, SAVE_DELAY_MS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Writes the pending snapshot to file immediately, if any.
+     *
+     * <p>Must be invoked before shutdown to avoid losing the latest save.</p>
+     */
+    public static void flush() {
+        synchronized (FLUSH_LOCK) {
+            flushPending();
+        }
+    }
+
+    private static void flushPending() {
+        Config snapshot = pendingSave.getAndSet(null);
+        if (snapshot == null) return;
         try {
             if (!Files.isDirectory(DIR_PATH)) Files.createDirectories(DIR_PATH);
-            Path file = DIR_PATH.resolve(FILE_NAME);
-            Path tempFile = file.resolveSibling(file.getFileName() + ".tmp");
-            try (OutputStreamWriter writer = new OutputStreamWriter(
-                    new FileOutputStream(tempFile.toFile()), StandardCharsets.UTF_8)) {
-                writer.write(GSON.toJson(instance));
-            } catch (IOException e) {
-                throw new IOException(e);
+            if (snapshot.storageMode == StorageMode.SHARDED) {
+                // Write the notifications before the global options that list
+                // them, and only delete unlisted files after both, so that
+                // the files on disk are always complete
+                if (!Files.isDirectory(SHARD_DIR_PATH)) Files.createDirectories(SHARD_DIR_PATH);
+                Set<Path> shardFiles = new HashSet<>();
+                for (Notification notif : snapshot.notifications) {
+                    Path file = SHARD_DIR_PATH.resolve(notif.id + ".json");
+                    // Skip serializing unchanged notifications
+                    if (notif.dirty || writeFailed || !Files.exists(file)) {
+                        writeIfChanged(file, notif);
+                    }
+                    shardFiles.add(file);
+                }
+                writeIfChanged(DIR_PATH.resolve(FILE_NAME), snapshot);
+                deleteShards(shardFiles);
+            } else {
+                write(DIR_PATH.resolve(FILE_NAME), snapshot);
             }
-            Files.move(tempFile, file, StandardCopyOption.ATOMIC_MOVE,
-                    StandardCopyOption.REPLACE_EXISTING);
-            ChatNotify.onConfigSaved(instance);
-        } catch (IOException e) {
+            writeFailed = false;
+        } catch (IOException | JsonIOException e) {
             ChatNotify.LOG.error("Unable to save config", e);
+            // The dirtiness of the snapshot is lost
+            writeFailed = true;
+        }
+    }
+
+    /**
+     * Serializes the specified object to a temporary file, then atomically 
+     * moves it to the specified file.
+     */
+    private static void write(Path file, Object value) throws IOException {
+        moveIntoPlace(writeTemp(file, value), file);
+    }
+
+    /**
+     * Writes the specified object to the specified file as by 
+     * {@link Config#write}, unless the file already has the same content.
+     */
+    private static void writeIfChanged(Path file, Object value) throws IOException {
+        Path tempFile = writeTemp(file, value);
+        if (Files.exists(file) && Files.mismatch(tempFile, file) == -1) {
+            Files.delete(tempFile);
+        } else {
+            moveIntoPlace(tempFile, file);
+        }
+    }
+
+    /**
+     * Streams the specified object to the temporary file of the specified
+     * file, without building the content in memory.
+     * @return the temporary file.
+     */
+    private static Path writeTemp(Path file, Object value) throws IOException {
+        Path tempFile = file.resolveSibling(file.getFileName() + ".tmp");
+        try (OutputStreamWriter writer = new OutputStreamWriter(
+                new FileOutputStream(tempFile.toFile()), StandardCharsets.UTF_8)) {
+            GSON.toJson(value, writer);
+        }
+        return tempFile;
+    }
+
+    /**
+     * Atomically moves the written temporary file to the specified file.
+     *
+     * <p>The modification time is recorded before moving (which preserves
+     * it), so that {@link ConfigWatcher} never sees the file without it.</p>
+     */
+    private static void moveIntoPlace(Path tempFile, Path file) throws IOException {
+        writeTimes.put(file, Files.getLastModifiedTime(tempFile));
+        Files.move(tempFile, file, StandardCopyOption.ATOMIC_MOVE,
+                StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * @return {@code true} if the specified file is part of the stored 
+     * config, and was last modified by something other than this class.
+     */
+    static boolean isChangedFile(Path file) {
+        boolean configFile = file.equals(DIR_PATH.resolve(FILE_NAME))
+                || (SHARD_DIR_PATH.equals(file.getParent()) 
+                        && file.getFileName().toString().endsWith(".json"));
+        if (!configFile) return false;
+        try {
+            return !Files.getLastModifiedTime(file).equals(writeTimes.get(file));
+        } catch (IOException e) {
+            // Deleted since the change, nothing to reload
+            return false;
+        }
+    }
+
+    /**
+     * Deletes all {@link Notification} files except those specified.
+     */
+    private static void deleteShards(Set<Path> keep) throws IOException {
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(SHARD_DIR_PATH, "*.json")) {
+            for (Path file : stream) {
+                if (!keep.contains(file)) {
+                    Files.delete(file);
+                    writeTimes.remove(file);
+                }
+            }
         }
     }
 
@@ -376,6 +813,9 @@ public class Config {
      * Validation method to be called after config editing and before saving.
      */
     private Config validate() {
+        if (sendInterval < 0) sendInterval = sendIntervalDefault;
+        if (sendBurst < 1) sendBurst = sendBurstDefault;
+        if (regexBudget < 0) regexBudget = regexBudgetDefault;
         if (defaultColor < 0 || defaultColor > 16777215) defaultColor = defaultColorDefault;
         defaultSound.validate();
 
@@ -384,8 +824,13 @@ public class Config {
         prefixes.sort(Comparator.comparingInt(String::length).reversed());
 
         // Cleanup notifications and remove any blanks except first
+        Set<String> ids = new HashSet<>();
         notifications.removeIf((n) -> {
             n.validate();
+            if (!ids.add(n.id)) {
+                n.id = Notification.idDefault.get();
+                ids.add(n.id);
+            }
             return (
                     n != notifications.getFirst()
                             && n.triggers.isEmpty()
@@ -411,13 +856,96 @@ public class Config {
         }
     }
 
-    // Deserialization
+    // Serialization
+
+    public static class Adapter extends TypeAdapter<Config> {
+        private final Sound.Adapter soundAdapter = new Sound.Adapter();
+        private final Notification.Adapter notificationAdapter = new Notification.Adapter();
+        /**
+         * Whether to fail if any {@link Notification} file cannot be read,
+         * see {@link Config#loadShards}.
+         */
+        private final boolean strict;
+
+        public Adapter() {
+            this(false);
+        }
+
+        private Adapter(boolean strict) {
+            this.strict = strict;
+        }
+
+        @Override
+        public void write(JsonWriter out, Config value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("version").value(value.version);
+            out.name("detectionMode");
+            JsonUtil.writeEnum(out, value.detectionMode);
+            out.name("debugMode");
+            JsonUtil.writeEnum(out, value.debugMode);
+            out.name("notifMode");
+            JsonUtil.writeEnum(out, value.notifMode);
+            out.name("restyleMode");
+            JsonUtil.writeEnum(out, value.restyleMode);
+            out.name("sendMode");
+            JsonUtil.writeEnum(out, value.sendMode);
+            out.name("sendInterval").value(value.sendInterval);
+            out.name("sendBurst").value(value.sendBurst);
+            out.name("senderDetectionMode");
+            JsonUtil.writeEnum(out, value.senderDetectionMode);
+            out.name("regexEngine");
+            JsonUtil.writeEnum(out, value.regexEngine);
+            out.name("regexBudget").value(value.regexBudget);
+            out.name("storageMode");
+            JsonUtil.writeEnum(out, value.storageMode);
+            out.name("checkOwnMessages").value(value.checkOwnMessages);
+            out.name("soundSource");
+            JsonUtil.writeEnum(out, value.soundSource);
+            out.name("defaultColor").value(value.defaultColor);
+            out.name("defaultSound");
+            soundAdapter.write(out, value.defaultSound);
+            out.name("prefixes").beginArray();
+            for (String prefix : value.prefixes) {
+                out.value(prefix);
+            }
+            out.endArray();
+            if (value.storageMode == StorageMode.SHARDED) {
+                // Each notification is written to its own file, see 
+                // Config#flushPending
+                out.name(SHARDS_KEY).beginArray();
+                for (Notification notif : value.notifications) {
+                    out.value(notif.id);
+                }
+                out.endArray();
+            } else {
+                out.name("notifications");
+                JsonUtil.writeList(out, value.notifications, notificationAdapter);
+            }
+            out.endObject();
+        }
 
-    public static class Deserializer implements JsonDeserializer<Config> {
         @Override
-        public Config deserialize(JsonElement json, Type typeOfT, JsonDeserializationContext ctx)
-                throws JsonParseException {
-            JsonObject obj = json.getAsJsonObject();
+        public Config read(JsonReader in) throws IOException {
+            JsonObject obj = new JsonObject();
+            Sound defaultSound = null;
+            List<Notification> notifications = null;
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                switch(name) {
+                    case "defaultSound" -> defaultSound = JsonUtil.readObject(in, obj, name,
+                            soundAdapter);
+                    case "notifications" -> notifications = JsonUtil.readList(in, obj, name,
+                            notificationAdapter);
+                    default -> JsonUtil.readValue(in, obj, name);
+                }
+            }
+            in.endObject();
+
             int version = obj.get("version").getAsInt();
             boolean silent = version != VERSION;
 
@@ -436,9 +964,24 @@ public class Config {
             SendMode sendMode = JsonUtil.getOrDefault(obj, "sendMode",
                     SendMode.class, SendMode.values()[0], silent);
 
+            int sendInterval = JsonUtil.getOrDefault(obj, "sendInterval",
+                    sendIntervalDefault, silent);
+
+            int sendBurst = JsonUtil.getOrDefault(obj, "sendBurst",
+                    sendBurstDefault, silent);
+
             SenderDetectionMode senderDetectionMode = JsonUtil.getOrDefault(obj, "senderDetectionMode",
                     SenderDetectionMode.class, SenderDetectionMode.values()[0], silent);
 
+            RegexEngine regexEngine = JsonUtil.getOrDefault(obj, "regexEngine",
+                    RegexEngine.class, RegexEngine.values()[0], silent);
+
+            int regexBudget = JsonUtil.getOrDefault(obj, "regexBudget",
+                    regexBudgetDefault, silent);
+
+            StorageMode storageMode = JsonUtil.getOrDefault(obj, "storageMode",
+                    StorageMode.class, StorageMode.values()[0], silent);
+
             boolean checkOwnMessages = JsonUtil.getOrDefault(obj, "checkOwnMessages",
                     checkOwnMessagesDefault, silent);
 
@@ -448,13 +991,19 @@ public class Config {
             int defaultColor = JsonUtil.getOrDefault(obj, "defaultColor",
                     defaultColorDefault, silent);
 
-            Sound defaultSound = JsonUtil.getOrDefault(ctx, obj, "defaultSound",
-                    Sound.class, defaultSoundDefault.get(), silent);
+            defaultSound = JsonUtil.getOrDefault(obj, "defaultSound",
+                    Sound.class, defaultSound, defaultSoundDefault.get(), silent);
 
             List<String> prefixes = JsonUtil.getOrDefault(obj, "prefixes", prefixesDefault.get(), silent);
 
-            List<Notification> notifications = JsonUtil.getOrDefault(ctx, obj, "notifications",
-                    Notification.class, notificationsDefault.get(), silent);
+            if (obj.has(SHARDS_KEY)) {
+                notifications = loadShards(
+                        JsonUtil.getOrDefault(obj, SHARDS_KEY, new ArrayList<>(), silent), strict);
+                if (notifications.isEmpty()) notifications = notificationsDefault.get();
+            } else {
+                notifications = JsonUtil.getOrDefault(obj, "notifications",
+                        Notification.class, notifications, notificationsDefault.get(), silent);
+            }
 
             return new Config(
                     detectionMode,
@@ -462,7 +1011,12 @@ public class Config {
                     notifMode,
                     restyleMode,
                     sendMode,
+                    sendInterval,
+                    sendBurst,
                     senderDetectionMode,
+                    regexEngine,
+                    regexBudget,
+                    storageMode,
                     checkOwnMessages,
                     soundSource,
                     defaultColor,
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2025 TerminalMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.terminalmc.chatnotify.config;
+
+import dev.terminalmc.chatnotify.ChatNotify;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.file.StandardWatchEventKinds.*;
+
+/**
+ * Watches the config files for changes made by other programs, and notifies
+ * a listener on a background thread when they occur.
+ *
+ * <p>Changes made by {@link Config} itself are ignored.</p>
+ */
+public class ConfigWatcher {
+    /**
+     * The time for which the config directory must be unchanged before the
+     * listener is notified, so that a file written in several steps is only
+     * read once it is complete.
+     */
+    private static final long QUIET_MS = 500;
+
+    private static @Nullable WatchService service = null;
+
+    /**
+     * Starts watching the config files, if not already watching.
+     * @param listener invoked on the watcher thread when any config file has
+     *                 been changed by another program.
+     */
+    public static synchronized void start(Runnable listener) {
+        if (service != null) return;
+        try {
+            if (!Files.isDirectory(Config.DIR_PATH)) Files.createDirectories(Config.DIR_PATH);
+            WatchService service = FileSystems.getDefault().newWatchService();
+            Config.DIR_PATH.register(service, ENTRY_CREATE, ENTRY_MODIFY);
+            if (Files.isDirectory(Config.SHARD_DIR_PATH)) {
+                Config.SHARD_DIR_PATH.register(service, ENTRY_CREATE, ENTRY_MODIFY);
+            }
+            Thread thread = new Thread(() -> watch(service, listener), 
+                    ChatNotify.MOD_NAME + " config watcher");
+            thread.setDaemon(true);
+            thread.start();
+            ConfigWatcher.service = service;
+        } catch (IOException e) {
+            ChatNotify.LOG.error("Unable to watch config files", e);
+        }
+    }
+
+    /**
+     * Stops watching the config files, if watching.
+     */
+    public static synchronized void stop() {
+        if (service == null) return;
+        try {
+            service.close();
+        } catch (IOException e) {
+            ChatNotify.LOG.error("Unable to stop watching config files", e);
+        }
+        service = null;
+    }
+
+    private static void watch(WatchService service, Runnable listener) {
+        try {
+            while (true) {
+                WatchKey key = service.take();
+                boolean changed = false;
+                // Collect events until the files have been unchanged for a while
+                while (key != null) {
+                    changed |= handle(service, key);
+                    key.reset();
+                    key = service.poll(QUIET_MS, TimeUnit.MILLISECONDS);
+                }
+                if (changed) {
+                    try {
+                        listener.run();
+                    } catch (Exception e) {
+                        ChatNotify.LOG.error("Unable to reload config", e);
+                    }
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // Stopped
+        }
+    }
+
+    /**
+     * @return {@code true} if any event of the key indicates a config file 
+     * changed by another program.
+     */
+    private static boolean handle(WatchService service, WatchKey key) {
+        Path dir = (Path)key.watchable();
+        boolean changed = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == OVERFLOW) {
+                changed = true;
+                continue;
+            }
+            Path file = dir.resolve((Path)event.context());
+            if (file.equals(Config.SHARD_DIR_PATH) && event.kind() == ENTRY_CREATE) {
+                // Created after watching started
+                try {
+                    Config.SHARD_DIR_PATH.register(service, ENTRY_CREATE, ENTRY_MODIFY);
+                } catch (IOException e) {
+                    ChatNotify.LOG.error("Unable to watch config files", e);
+                }
+            } else if (Config.isChangedFile(file)) {
+                changed = true;
+            }
+        }
+        return changed;
+    }
+}
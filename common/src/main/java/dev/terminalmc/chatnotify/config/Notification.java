@@ -17,12 +17,16 @@
 package dev.terminalmc.chatnotify.config;
 
 import com.google.gson.*;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import dev.terminalmc.chatnotify.util.ActivationLimiter;
 import dev.terminalmc.chatnotify.util.JsonUtil;
 import org.jetbrains.annotations.Nullable;
 
-import java.lang.reflect.Type;
+import java.io.IOException;
 import java.util.*;
 import java.util.function.Supplier;
+import java.util.regex.Pattern;
 
 /**
  * Consists of:
@@ -49,15 +53,65 @@ import java.util.function.Supplier;
  * elements.</p>
  */
 public class Notification {
-    public static final int VERSION = 5;
+    public static final int VERSION = 7;
     public final int version = VERSION;
 
+    /**
+     * A stable identifier for this instance, unique within the 
+     * {@link Config}.
+     *
+     * <p>Used to name the file of this instance when {@link Config#storageMode}
+     * is {@link Config.StorageMode#SHARDED}, so is restricted to 
+     * {@link Notification#ID_PATTERN}.</p>
+     */
+    String id;
+    public static final Supplier<String> idDefault = () -> UUID.randomUUID().toString();
+    static final Pattern ID_PATTERN = Pattern.compile("[A-Za-z0-9_-]{1,64}");
+
+    public String getId() {
+        return id;
+    }
+
     /**
      * A status flag to indicate that this instance is being edited, and should 
      * not be activated irrespective of {@link Notification#enabled}.
      */
     public transient boolean editing = false;
 
+    /**
+     * The number of times a regex {@link Trigger} of this instance has
+     * exceeded {@link Config#regexBudget} since it was last enabled.
+     */
+    public transient int regexOverruns = 0;
+    public static final int maxRegexOverruns = 3;
+
+    /**
+     * A status flag to indicate that this instance was disabled after
+     * {@link Notification#maxRegexOverruns} regex budget overruns, and should 
+     * not be activated until re-enabled by the user or the game restarts.
+     *
+     * <p>{@link Notification#enabled} is not changed, so that the disabling
+     * does not persist without being shown to the user.</p>
+     */
+    public transient boolean regexOverrunDisabled = false;
+
+    /**
+     * Records the activations of this instance, to enforce 
+     * {@link Notification#cooldownTicks} and {@link Notification#floodLimit}.
+     */
+    public transient ActivationLimiter activationLimiter = new ActivationLimiter();
+
+    /**
+     * A status flag to indicate that this instance may have changed since it
+     * was last read from or written to its own file, see 
+     * {@link Config.StorageMode#SHARDED}.
+     *
+     * <p>Set by editors via {@link Notification#markDirty}, and cleared when
+     * a snapshot is taken to be written, so that unchanged instances are not
+     * serialized on save.</p>
+     */
+    transient boolean dirty = true;
+
     // Options
 
     /**
@@ -97,6 +151,31 @@ public class Notification {
     public boolean responseEnabled;
     public static final boolean responseEnabledDefault = false;
 
+    /**
+     * The minimum number of ticks between activations of this instance, or 
+     * {@code 0} for no limit.
+     */
+    public int cooldownTicks;
+    public static final int cooldownTicksDefault = 0;
+
+    /**
+     * The maximum number of activations of this instance within
+     * {@link Notification#floodWindowTicks}, or {@code 0} for no limit.
+     *
+     * <p>At most {@link Notification#floodLimitMax}, as each activation
+     * within the window is recorded.</p>
+     */
+    public int floodLimit;
+    public static final int floodLimitDefault = 0;
+    public static final int floodLimitMax = 999;
+
+    /**
+     * The length in ticks of the window used by 
+     * {@link Notification#floodLimit}.
+     */
+    public int floodWindowTicks;
+    public static final int floodWindowTicksDefault = 200;
+
     /**
      * The {@link Sound} to play on activation.
      */
@@ -160,10 +239,14 @@ public class Notification {
      * Not validated.
      */
     Notification(
+            String id,
             boolean enabled,
             CheckOwnMode checkOwnMode,
             boolean exclusionEnabled,
             boolean responseEnabled,
+            int cooldownTicks,
+            int floodLimit,
+            int floodWindowTicks,
             Sound sound,
             TextStyle textStyle,
             String replacementMsg,
@@ -176,10 +259,14 @@ public class Notification {
             List<Trigger> exclusionTriggers,
             List<ResponseMessage> responseMessages
     ) {
+        this.id = id;
         this.enabled = enabled;
         this.checkOwnMode = checkOwnMode;
         this.exclusionEnabled = exclusionEnabled;
         this.responseEnabled = responseEnabled;
+        this.cooldownTicks = cooldownTicks;
+        this.floodLimit = floodLimit;
+        this.floodWindowTicks = floodWindowTicks;
         this.sound = sound;
         this.textStyle = textStyle;
         this.replacementMsg = replacementMsg;
@@ -193,16 +280,47 @@ public class Notification {
         this.responseMessages = responseMessages;
     }
 
+    /**
+     * Copy constructor. Transient state is not copied.
+     */
+    Notification(Notification notif) {
+        this(
+                notif.id,
+                notif.enabled,
+                notif.checkOwnMode,
+                notif.exclusionEnabled,
+                notif.responseEnabled,
+                notif.cooldownTicks,
+                notif.floodLimit,
+                notif.floodWindowTicks,
+                new Sound(notif.sound),
+                new TextStyle(notif.textStyle),
+                notif.replacementMsg,
+                notif.replacementMsgEnabled,
+                notif.statusBarMsg,
+                notif.statusBarMsgEnabled,
+                notif.titleMsg,
+                notif.titleMsgEnabled,
+                new ArrayList<>(notif.triggers.stream().map(Trigger::new).toList()),
+                new ArrayList<>(notif.exclusionTriggers.stream().map(Trigger::new).toList()),
+                new ArrayList<>(notif.responseMessages.stream().map(ResponseMessage::new).toList())
+        );
+    }
+
     /**
      * Creates a new {@link Notification} for the user's name, with two default 
      * placeholder {@link Trigger}s.
      */
     static Notification createUser() {
         return new Notification(
+                idDefault.get(),
                 enabledDefault,
                 CheckOwnMode.values()[0],
                 exclusionEnabledDefault,
                 responseEnabledDefault,
+                cooldownTicksDefault,
+                floodLimitDefault,
+                floodWindowTicksDefault,
                 soundDefault.get(),
                 textStyleDefault.get(),
                 replacementMsgDefault,
@@ -226,10 +344,14 @@ public class Notification {
      */
     static Notification createBlank(Sound sound, TextStyle textStyle) {
         return new Notification(
+                idDefault.get(),
                 enabledDefault,
                 CheckOwnMode.values()[0],
                 exclusionEnabledDefault,
                 responseEnabledDefault,
+                cooldownTicksDefault,
+                floodLimitDefault,
+                floodWindowTicksDefault,
                 sound,
                 textStyle,
                 replacementMsgDefault,
@@ -248,11 +370,11 @@ public class Notification {
 
     /**
      * @return {@code true} if this instance is eligible for activation (on a
-     * message sent by the user if {@code ownMsg} is {@code true}), 
+     * message sent by the user if {@code ownMsg} is {@code true}),
      * {@code false} otherwise.
      */
     public boolean canActivate(boolean ownMsg) {
-        if (enabled && !editing) {
+        if (enabled && !editing && !regexOverrunDisabled) {
             if (ownMsg) {
                 return switch(checkOwnMode) {
                     case DEFER -> Config.get().checkOwnMessages;
@@ -267,6 +389,45 @@ public class Notification {
         }
     }
 
+    // Regex budget
+
+    /**
+     * Records that a regex {@link Trigger} of this instance exceeded
+     * {@link Config#regexBudget}, setting 
+     * {@link Notification#regexOverrunDisabled} if the limit has been 
+     * reached.
+     * @return {@code true} if this instance was disabled as a result,
+     * {@code false} otherwise.
+     */
+    public boolean recordRegexOverrun() {
+        if (++regexOverruns >= maxRegexOverruns && !regexOverrunDisabled) {
+            regexOverrunDisabled = true;
+            return true;
+        }
+        return false;
+    }
+
+    // Dirtiness
+
+    /**
+     * Marks this instance as changed, so that its file is rewritten on the
+     * next save.
+     */
+    public void markDirty() {
+        dirty = true;
+    }
+
+    /**
+     * Sets whether this instance is eligible for activation, clearing any
+     * recorded regex budget overruns.
+     */
+    public void setEnabled(boolean enabled) {
+        if (enabled != this.enabled) dirty = true;
+        this.enabled = enabled;
+        regexOverruns = 0;
+        regexOverrunDisabled = false;
+    }
+
     // List reordering
 
     /**
@@ -279,6 +440,7 @@ public class Notification {
     public boolean moveTrigger(int sourceIndex, int destIndex) {
         if (sourceIndex != destIndex) {
             triggers.add(destIndex, triggers.remove(sourceIndex));
+            dirty = true;
             return true;
         }
         return false;
@@ -294,6 +456,7 @@ public class Notification {
     public boolean moveExclusionTrigger(int sourceIndex, int destIndex) {
         if (sourceIndex != destIndex) {
             exclusionTriggers.add(destIndex, exclusionTriggers.remove(sourceIndex));
+            dirty = true;
             return true;
         }
         return false;
@@ -309,6 +472,7 @@ public class Notification {
     public boolean moveResponseMessage(int sourceIndex, int destIndex) {
         if (sourceIndex != destIndex) {
             responseMessages.add(destIndex, responseMessages.remove(sourceIndex));
+            dirty = true;
             return true;
         }
         return false;
@@ -320,6 +484,7 @@ public class Notification {
      * Sets all advanced settings to their respective defaults.
      */
     public void resetAdvanced() {
+        dirty = true;
         checkOwnMode = CheckOwnMode.values()[0];
 
         replacementMsg = replacementMsgDefault;
@@ -333,13 +498,22 @@ public class Notification {
         exclusionTriggers.clear();
         responseEnabled = responseEnabledDefault;
         responseMessages.clear();
+
+        cooldownTicks = cooldownTicksDefault;
+        floodLimit = floodLimitDefault;
+        floodWindowTicks = floodWindowTicksDefault;
     }
 
     // Validation
 
     Notification validate() {
+        if (id == null || !ID_PATTERN.matcher(id).matches()) id = idDefault.get();
         textStyle.validate();
         sound.validate();
+        if (cooldownTicks < 0) cooldownTicks = cooldownTicksDefault;
+        if (floodLimit < 0) floodLimit = floodLimitDefault;
+        else if (floodLimit > floodLimitMax) floodLimit = floodLimitMax;
+        if (floodWindowTicks < 1) floodWindowTicks = floodWindowTicksDefault;
 
         triggers.removeIf(t -> {
             t.validate();
@@ -359,16 +533,83 @@ public class Notification {
         return this;
     }
 
-    // Deserialization
+    // Serialization
+
+    public static class Adapter extends TypeAdapter<Notification> {
+        private final Sound.Adapter soundAdapter = new Sound.Adapter();
+        private final TextStyle.Adapter textStyleAdapter = new TextStyle.Adapter();
+        private final Trigger.Adapter triggerAdapter = new Trigger.Adapter();
+        private final ResponseMessage.Adapter responseMessageAdapter = 
+                new ResponseMessage.Adapter();
+
+        @Override
+        public void write(JsonWriter out, Notification value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("version").value(value.version);
+            out.name("id").value(value.id);
+            out.name("enabled").value(value.enabled);
+            out.name("checkOwnMode");
+            JsonUtil.writeEnum(out, value.checkOwnMode);
+            out.name("exclusionEnabled").value(value.exclusionEnabled);
+            out.name("responseEnabled").value(value.responseEnabled);
+            out.name("cooldownTicks").value(value.cooldownTicks);
+            out.name("floodLimit").value(value.floodLimit);
+            out.name("floodWindowTicks").value(value.floodWindowTicks);
+            out.name("sound");
+            soundAdapter.write(out, value.sound);
+            out.name("textStyle");
+            textStyleAdapter.write(out, value.textStyle);
+            out.name("replacementMsg").value(value.replacementMsg);
+            out.name("replacementMsgEnabled").value(value.replacementMsgEnabled);
+            out.name("statusBarMsg").value(value.statusBarMsg);
+            out.name("statusBarMsgEnabled").value(value.statusBarMsgEnabled);
+            out.name("titleMsg").value(value.titleMsg);
+            out.name("titleMsgEnabled").value(value.titleMsgEnabled);
+            out.name("triggers");
+            JsonUtil.writeList(out, value.triggers, triggerAdapter);
+            out.name("exclusionTriggers");
+            JsonUtil.writeList(out, value.exclusionTriggers, triggerAdapter);
+            out.name("responseMessages");
+            JsonUtil.writeList(out, value.responseMessages, responseMessageAdapter);
+            out.endObject();
+        }
 
-    public static class Deserializer implements JsonDeserializer<Notification> {
         @Override
-        public @Nullable Notification deserialize(JsonElement json, Type typeOfT, JsonDeserializationContext ctx)
-                throws JsonParseException {
-            JsonObject obj = json.getAsJsonObject();
+        public @Nullable Notification read(JsonReader in) throws IOException {
+            JsonObject obj = new JsonObject();
+            Sound sound = null;
+            TextStyle textStyle = null;
+            List<Trigger> triggers = null;
+            List<Trigger> exclusionTriggers = null;
+            List<ResponseMessage> responseMessages = null;
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                switch(name) {
+                    case "sound" -> sound = JsonUtil.readObject(in, obj, name, soundAdapter);
+                    case "textStyle" -> textStyle = JsonUtil.readObject(in, obj, name,
+                            textStyleAdapter);
+                    case "triggers" -> triggers = JsonUtil.readList(in, obj, name,
+                            triggerAdapter);
+                    case "exclusionTriggers" -> exclusionTriggers = JsonUtil.readList(in, obj,
+                            name, triggerAdapter);
+                    case "responseMessages" -> responseMessages = JsonUtil.readList(in, obj,
+                            name, responseMessageAdapter);
+                    default -> JsonUtil.readValue(in, obj, name);
+                }
+            }
+            in.endObject();
+
             int version = obj.get("version").getAsInt();
             boolean silent = version != VERSION;
 
+            String id = JsonUtil.getOrDefault(obj, "id",
+                    idDefault.get(), silent);
+
             boolean enabled = JsonUtil.getOrDefault(obj, "enabled",
                     enabledDefault, silent);
 
@@ -381,11 +622,20 @@ public class Notification {
             boolean responseEnabled = JsonUtil.getOrDefault(obj, "responseEnabled",
                     responseEnabledDefault, silent);
 
-            Sound sound = JsonUtil.getOrDefault(ctx, obj, "sound",
-                    Sound.class, soundDefault.get(), silent);
+            int cooldownTicks = JsonUtil.getOrDefault(obj, "cooldownTicks",
+                    cooldownTicksDefault, silent);
+
+            int floodLimit = JsonUtil.getOrDefault(obj, "floodLimit",
+                    floodLimitDefault, silent);
+
+            int floodWindowTicks = JsonUtil.getOrDefault(obj, "floodWindowTicks",
+                    floodWindowTicksDefault, silent);
+
+            sound = JsonUtil.getOrDefault(obj, "sound",
+                    Sound.class, sound, soundDefault.get(), silent);
 
-            TextStyle textStyle = JsonUtil.getOrDefault(ctx, obj, "textStyle",
-                    TextStyle.class, textStyleDefault.get(), silent);
+            textStyle = JsonUtil.getOrDefault(obj, "textStyle",
+                    TextStyle.class, textStyle, textStyleDefault.get(), silent);
 
             String replacementMsg = JsonUtil.getOrDefault(obj, "replacementMsg",
                     replacementMsgDefault, silent);
@@ -405,14 +655,14 @@ public class Notification {
             boolean titleMsgEnabled = JsonUtil.getOrDefault(obj, "titleMsgEnabled",
                     titleMsgEnabledDefault, silent);
 
-            List<Trigger> triggers = JsonUtil.getOrDefault(ctx, obj, "triggers",
-                    Trigger.class, triggersDefault.get(), silent);
+            triggers = JsonUtil.getOrDefault(obj, "triggers",
+                    Trigger.class, triggers, triggersDefault.get(), silent);
 
-            List<Trigger> exclusionTriggers = JsonUtil.getOrDefault(ctx, obj, "exclusionTriggers",
-                    Trigger.class, exclusionTriggersDefault.get(), silent);
+            exclusionTriggers = JsonUtil.getOrDefault(obj, "exclusionTriggers",
+                    Trigger.class, exclusionTriggers, exclusionTriggersDefault.get(), silent);
 
-            List<ResponseMessage> responseMessages = JsonUtil.getOrDefault(ctx, obj, "responseMessages",
-                    ResponseMessage.class, responseMessagesDefault.get(), silent);
+            responseMessages = JsonUtil.getOrDefault(obj, "responseMessages",
+                    ResponseMessage.class, responseMessages, responseMessagesDefault.get(), silent);
             if (version <= 3) {
                 int totalDelay = 0;
                 for (ResponseMessage resMsg : responseMessages) {
@@ -422,10 +672,14 @@ public class Notification {
             }
 
             return new Notification(
+                    id,
                     enabled,
                     checkOwnMode,
                     exclusionEnabled,
                     responseEnabled,
+                    cooldownTicks,
+                    floodLimit,
+                    floodWindowTicks,
                     sound,
                     textStyle,
                     replacementMsg,
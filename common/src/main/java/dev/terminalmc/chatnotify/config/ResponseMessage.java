@@ -17,16 +17,17 @@
 package dev.terminalmc.chatnotify.config;
 
 import com.google.gson.*;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
 import dev.terminalmc.chatnotify.util.JsonUtil;
 import org.jetbrains.annotations.Nullable;
 
+import java.io.IOException;
+
 public class ResponseMessage {
     public static final int VERSION = 2;
     public final int version = VERSION;
 
-    public transient int countdown;
-    public transient String sendingString;
-
     // Options
 
     /**
@@ -97,6 +98,18 @@ public class ResponseMessage {
         this.delayTicks = delayTicks;
     }
 
+    /**
+     * Copy constructor.
+     */
+    ResponseMessage(ResponseMessage message) {
+        this(
+                message.enabled,
+                message.string,
+                message.type,
+                message.delayTicks
+        );
+    }
+
     // Validation
 
     ResponseMessage validate() {
@@ -104,13 +117,34 @@ public class ResponseMessage {
         return this;
     }
 
-    // Deserialization
+    // Serialization
 
-    public static class Deserializer implements JsonDeserializer<ResponseMessage> {
+    public static class Adapter extends TypeAdapter<ResponseMessage> {
         @Override
-        public @Nullable ResponseMessage deserialize(JsonElement json, java.lang.reflect.Type typeOfT,
-                                                     JsonDeserializationContext ctx) throws JsonParseException {
-            JsonObject obj = json.getAsJsonObject();
+        public void write(JsonWriter out, ResponseMessage value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("version").value(value.version);
+            out.name("enabled").value(value.enabled);
+            out.name("string").value(value.string);
+            out.name("delayTicks").value(value.delayTicks);
+            out.name("type");
+            JsonUtil.writeEnum(out, value.type);
+            out.endObject();
+        }
+
+        @Override
+        public @Nullable ResponseMessage read(JsonReader in) throws IOException {
+            JsonObject obj = new JsonObject();
+            in.beginObject();
+            while (in.hasNext()) {
+                JsonUtil.readValue(in, obj, in.nextName());
+            }
+            in.endObject();
+
             int version = obj.get("version").getAsInt();
             boolean silent = version != VERSION;
 
@@ -17,11 +17,13 @@
 package dev.terminalmc.chatnotify.config;
 
 import com.google.gson.*;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
 import dev.terminalmc.chatnotify.util.JsonUtil;
 import net.minecraft.resources.ResourceLocation;
 import org.jetbrains.annotations.Nullable;
 
-import java.lang.reflect.Type;
+import java.io.IOException;
 
 public class Sound {
     public static final int VERSION = 1;
@@ -198,13 +200,33 @@ public class Sound {
         return ResourceLocation.tryParse(id) != null;
     }
 
-    // Deserialization
+    // Serialization
 
-    public static class Deserializer implements JsonDeserializer<Sound> {
+    public static class Adapter extends TypeAdapter<Sound> {
         @Override
-        public Sound deserialize(JsonElement json, Type typeOfT, JsonDeserializationContext ctx)
-                throws JsonParseException {
-            JsonObject obj = json.getAsJsonObject();
+        public void write(JsonWriter out, Sound value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("version").value(value.version);
+            out.name("enabled").value(value.enabled);
+            out.name("id").value(value.id);
+            out.name("volume").value((Number)Float.valueOf(value.volume));
+            out.name("pitch").value((Number)Float.valueOf(value.pitch));
+            out.endObject();
+        }
+
+        @Override
+        public Sound read(JsonReader in) throws IOException {
+            JsonObject obj = new JsonObject();
+            in.beginObject();
+            while (in.hasNext()) {
+                JsonUtil.readValue(in, obj, in.nextName());
+            }
+            in.endObject();
+
             int version = obj.get("version").getAsInt();
             boolean silent = version != VERSION;
 
@@ -17,15 +17,13 @@
 package dev.terminalmc.chatnotify.config;
 
 import com.google.gson.*;
-import dev.terminalmc.chatnotify.ChatNotify;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
 import dev.terminalmc.chatnotify.util.JsonUtil;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.regex.Pattern;
-import java.util.regex.PatternSyntaxException;
+import java.io.IOException;
 
 public class StyleTarget {
     public static final int VERSION = 2;
@@ -43,20 +41,6 @@ public class StyleTarget {
     public @NotNull String string;
     public static final @NotNull String stringDefault = "";
 
-    /**
-     * A regex {@link Pattern} compiled from {@link Trigger#string}, or 
-     * {@code null} if {@link StyleTarget#type} is not {@link Type#REGEX} or 
-     * the string could not be compiled.
-     */
-    public transient @Nullable Pattern pattern;
-
-    /**
-     * A list of integers parsed from {@link StyleTarget#string}, or an empty
-     * list if {@link StyleTarget#type} is not {@link Type#CAPTURING} or the
-     * string could not be parsed.
-     */
-    public transient final List<Integer> groupIndexes = new ArrayList<>();
-
     /**
      * Controls how {@link Trigger#string} is interpreted.
      */
@@ -117,26 +101,15 @@ public class StyleTarget {
         this.type = type;
     }
 
-    public void tryCompilePattern() {
-        try {
-            pattern = Pattern.compile(string);
-        } catch (PatternSyntaxException e) {
-            ChatNotify.LOG.warn("Error processing regex: " + e);
-            pattern = null;
-        }
-    }
-
-    public void tryParseIndexes() {
-        groupIndexes.clear();
-        String[] split = string.split(",");
-        for (String str : split) {
-            try {
-                groupIndexes.add(Integer.parseInt(str));
-            } catch (NumberFormatException e) {
-                ChatNotify.LOG.warn("Error processing style target: " + e);
-                pattern = null;
-            }
-        }
+    /**
+     * Copy constructor.
+     */
+    StyleTarget(StyleTarget target) {
+        this(
+                target.enabled,
+                target.string,
+                target.type
+        );
     }
 
     // Validation
@@ -145,13 +118,33 @@ public class StyleTarget {
         return this;
     }
 
-    // Deserialization
+    // Serialization
+
+    public static class Adapter extends TypeAdapter<StyleTarget> {
+        @Override
+        public void write(JsonWriter out, StyleTarget value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("version").value(value.version);
+            out.name("enabled").value(value.enabled);
+            out.name("string").value(value.string);
+            out.name("type");
+            JsonUtil.writeEnum(out, value.type);
+            out.endObject();
+        }
 
-    public static class Deserializer implements JsonDeserializer<StyleTarget> {
         @Override
-        public @Nullable StyleTarget deserialize(JsonElement json, java.lang.reflect.Type typeOfT,
-                                                 JsonDeserializationContext ctx) throws JsonParseException {
-            JsonObject obj = json.getAsJsonObject();
+        public @Nullable StyleTarget read(JsonReader in) throws IOException {
+            JsonObject obj = new JsonObject();
+            in.beginObject();
+            while (in.hasNext()) {
+                JsonUtil.readValue(in, obj, in.nextName());
+            }
+            in.endObject();
+
             int version = obj.get("version").getAsInt();
             boolean silent = version != VERSION;
 
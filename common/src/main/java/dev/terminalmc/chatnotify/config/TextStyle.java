@@ -17,12 +17,14 @@
 package dev.terminalmc.chatnotify.config;
 
 import com.google.gson.*;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
 import dev.terminalmc.chatnotify.util.JsonUtil;
 import net.minecraft.network.chat.Style;
 import net.minecraft.network.chat.TextColor;
 import org.jetbrains.annotations.Nullable;
 
-import java.lang.reflect.Type;
+import java.io.IOException;
 
 public class TextStyle {
     public static final int VERSION = 2;
@@ -97,6 +99,21 @@ public class TextStyle {
         this.obfuscated = obfuscated;
     }
 
+    /**
+     * Copy constructor.
+     */
+    TextStyle(TextStyle style) {
+        this(
+                style.doColor,
+                style.color,
+                style.bold,
+                style.italic,
+                style.underlined,
+                style.strikethrough,
+                style.obfuscated
+        );
+    }
+
     public TextColor getTextColor() {
         return TextColor.fromRgb(color);
     }
@@ -132,13 +149,41 @@ public class TextStyle {
         return this;
     }
 
-    // Deserialization
+    // Serialization
 
-    public static class Deserializer implements JsonDeserializer<TextStyle> {
+    public static class Adapter extends TypeAdapter<TextStyle> {
         @Override
-        public @Nullable TextStyle deserialize(JsonElement json, Type typeOfT, JsonDeserializationContext ctx)
-                throws JsonParseException {
-            JsonObject obj = json.getAsJsonObject();
+        public void write(JsonWriter out, TextStyle value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("version").value(value.version);
+            out.name("doColor").value(value.doColor);
+            out.name("color").value(value.color);
+            out.name("bold");
+            JsonUtil.writeEnum(out, value.bold);
+            out.name("italic");
+            JsonUtil.writeEnum(out, value.italic);
+            out.name("underlined");
+            JsonUtil.writeEnum(out, value.underlined);
+            out.name("strikethrough");
+            JsonUtil.writeEnum(out, value.strikethrough);
+            out.name("obfuscated");
+            JsonUtil.writeEnum(out, value.obfuscated);
+            out.endObject();
+        }
+
+        @Override
+        public @Nullable TextStyle read(JsonReader in) throws IOException {
+            JsonObject obj = new JsonObject();
+            in.beginObject();
+            while (in.hasNext()) {
+                JsonUtil.readValue(in, obj, in.nextName());
+            }
+            in.endObject();
+
             int version = obj.get("version").getAsInt();
             boolean silent = version != VERSION;
 
@@ -17,15 +17,16 @@
 package dev.terminalmc.chatnotify.config;
 
 import com.google.gson.*;
-import dev.terminalmc.chatnotify.ChatNotify;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
 import dev.terminalmc.chatnotify.util.JsonUtil;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.io.IOException;
+
 import java.util.Locale;
 import java.util.function.Supplier;
-import java.util.regex.Pattern;
-import java.util.regex.PatternSyntaxException;
 
 public class Trigger {
     public static final int VERSION = 4;
@@ -43,13 +44,6 @@ public class Trigger {
     public @NotNull String string;
     public static final @NotNull String stringDefault = "";
 
-    /**
-     * A regex {@link Pattern} compiled from {@link Trigger#string}, or 
-     * {@code null} if {@link Trigger#type} is not {@link Type#REGEX} or the 
-     * string could not be compiled.
-     */
-    public transient @Nullable Pattern pattern;
-
     /**
      * The restyle target.
      */
@@ -115,13 +109,16 @@ public class Trigger {
         this.type = type;
     }
 
-    public void tryCompilePattern() {
-        try {
-            pattern = Pattern.compile(string);
-        } catch (PatternSyntaxException e) {
-            ChatNotify.LOG.warn("ChatNotify: Error processing regex: " + e);
-            pattern = null;
-        }
+    /**
+     * Copy constructor.
+     */
+    Trigger(Trigger trigger) {
+        this(
+                trigger.enabled,
+                trigger.string,
+                new StyleTarget(trigger.styleTarget),
+                trigger.type
+        );
     }
 
     // Validation
@@ -133,13 +130,43 @@ public class Trigger {
         return this;
     }
 
-    // Deserialization
+    // Serialization
+
+    public static class Adapter extends TypeAdapter<Trigger> {
+        private final StyleTarget.Adapter styleTargetAdapter = new StyleTarget.Adapter();
+
+        @Override
+        public void write(JsonWriter out, Trigger value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("version").value(value.version);
+            out.name("enabled").value(value.enabled);
+            out.name("string").value(value.string);
+            out.name("styleTarget");
+            styleTargetAdapter.write(out, value.styleTarget);
+            out.name("type");
+            JsonUtil.writeEnum(out, value.type);
+            out.endObject();
+        }
 
-    public static class Deserializer implements JsonDeserializer<Trigger> {
         @Override
-        public @Nullable Trigger deserialize(JsonElement json, java.lang.reflect.Type typeOfT,
-                                             JsonDeserializationContext ctx) throws JsonParseException {
-            JsonObject obj = json.getAsJsonObject();
+        public @Nullable Trigger read(JsonReader in) throws IOException {
+            JsonObject obj = new JsonObject();
+            StyleTarget styleTarget = null;
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                switch(name) {
+                    case "styleTarget" -> styleTarget = JsonUtil.readObject(in, obj, name,
+                            styleTargetAdapter);
+                    default -> JsonUtil.readValue(in, obj, name);
+                }
+            }
+            in.endObject();
+
             int version = obj.get("version").getAsInt();
             boolean silent = version != VERSION;
 
@@ -149,14 +176,13 @@ public class Trigger {
             String string = JsonUtil.getOrDefault(obj, "string",
                     stringDefault, silent);
 
-            StyleTarget styleTarget;
             if (version < 4) { // 2025-01-19
                 String styleString = JsonUtil.getOrDefault(obj, "styleString",
                         stringDefault, silent);
                 styleTarget = new StyleTarget(styleString);
             } else {
-                styleTarget = JsonUtil.getOrDefault(ctx, obj, "styleTarget",
-                        StyleTarget.class, styleTargetDefault.get(), silent);
+                styleTarget = JsonUtil.getOrDefault(obj, "styleTarget",
+                        StyleTarget.class, styleTarget, styleTargetDefault.get(), silent);
             }
 
             Type type = JsonUtil.getOrDefault(obj, "type",
@@ -58,6 +58,7 @@ public class AdvancedOptionList extends OptionList {
         addEntry(new OptionList.Entry.TextEntry(entryX, entryWidth, entryHeight,
                 localized("option", "advanced.control"), null, -1));
         addEntry(new Entry.CheckOwnModeEntry(entryX, entryWidth, entryHeight, notif));
+        addEntry(new Entry.FloodControlEntry(entryX, entryWidth, entryHeight, notif));
 
         addEntry(new OptionList.Entry.TextEntry(entryX, entryWidth, entryHeight,
                 localized("option", "advanced.msg", "\u2139"), 
@@ -316,6 +317,59 @@ public class AdvancedOptionList extends OptionList {
             }
         }
 
+        private static class FloodControlEntry extends Entry {
+            FloodControlEntry(int x, int width, int height, Notification notif) {
+                super();
+                int fieldWidth = Minecraft.getInstance().font.width("00000+++");
+                int labelWidth = width - (fieldWidth * 3) - (SPACING * 3);
+                int movingX = x;
+
+                StringWidget label = new StringWidget(movingX, 0, labelWidth, height,
+                        localized("option", "advanced.flood", "\u2139"),
+                        Minecraft.getInstance().font);
+                label.setTooltip(Tooltip.create(localized("option", "advanced.flood.tooltip",
+                        notif.activationLimiter.suppressed())));
+                label.setTooltipDelay(Duration.ofMillis(500));
+                elements.add(label);
+                movingX += labelWidth + SPACING;
+
+                TextField cooldownField = new TextField(movingX, 0, fieldWidth, height);
+                cooldownField.posIntValidator();
+                cooldownField.setTooltip(Tooltip.create(
+                        localized("option", "advanced.flood.cooldown.tooltip")));
+                cooldownField.setTooltipDelay(Duration.ofMillis(500));
+                cooldownField.setMaxLength(5);
+                cooldownField.setResponder((str) -> 
+                        notif.cooldownTicks = Integer.parseInt(str.strip()));
+                cooldownField.setValue(String.valueOf(notif.cooldownTicks));
+                elements.add(cooldownField);
+                movingX += fieldWidth + SPACING;
+
+                TextField limitField = new TextField(movingX, 0, fieldWidth, height);
+                limitField.posIntValidator();
+                limitField.setTooltip(Tooltip.create(
+                        localized("option", "advanced.flood.limit.tooltip")));
+                limitField.setTooltipDelay(Duration.ofMillis(500));
+                limitField.setMaxLength(3);
+                limitField.setResponder((str) -> 
+                        notif.floodLimit = Integer.parseInt(str.strip()));
+                limitField.setValue(String.valueOf(notif.floodLimit));
+                elements.add(limitField);
+
+                TextField windowField = new TextField(x + width - fieldWidth, 0, 
+                        fieldWidth, height);
+                windowField.posIntValidator();
+                windowField.setTooltip(Tooltip.create(
+                        localized("option", "advanced.flood.window.tooltip")));
+                windowField.setTooltipDelay(Duration.ofMillis(500));
+                windowField.setMaxLength(5);
+                windowField.setResponder((str) -> 
+                        notif.floodWindowTicks = Integer.parseInt(str.strip()));
+                windowField.setValue(String.valueOf(notif.floodWindowTicks));
+                elements.add(windowField);
+            }
+        }
+
         private static class MessageConfigEntry extends NotifOptionList.Entry {
             MessageConfigEntry(int x, int width, int height,
                                Supplier<String> textSupplier, Consumer<String> textConsumer,
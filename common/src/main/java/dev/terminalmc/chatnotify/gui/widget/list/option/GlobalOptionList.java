@@ -17,6 +17,7 @@
 package dev.terminalmc.chatnotify.gui.widget.list.option;
 
 import dev.terminalmc.chatnotify.config.Config;
+import dev.terminalmc.chatnotify.config.Notification;
 import dev.terminalmc.chatnotify.gui.screen.OptionsScreen;
 import dev.terminalmc.chatnotify.gui.widget.HsvColorPicker;
 import dev.terminalmc.chatnotify.gui.widget.field.TextField;
@@ -34,6 +35,7 @@ import net.minecraft.sounds.SoundSource;
 import net.minecraft.util.FastColor;
 
 import java.awt.*;
+import java.time.Duration;
 
 import static dev.terminalmc.chatnotify.util.Localization.localized;
 
@@ -47,8 +49,11 @@ public class GlobalOptionList extends OptionList {
 
         addEntry(new Entry.DetectAndDebugEntry(entryX, entryWidth, entryHeight));
         addEntry(new Entry.SelfCheckAndSendModeEntry(entryX, entryWidth, entryHeight));
+        addEntry(new Entry.SendLimitEntry(entryX, entryWidth, entryHeight));
         addEntry(new Entry.MultiModeEntry(entryX, entryWidth, entryHeight));
         addEntry(new Entry.SenderDetectionModeEntry(entryX, entryWidth, entryHeight));
+        addEntry(new Entry.RegexEntry(entryX, entryWidth, entryHeight));
+        addEntry(new Entry.StorageModeEntry(entryX, entryWidth, entryHeight));
         addEntry(new Entry.DefaultColorEntry(entryX, entryWidth, entryHeight, this));
         addEntry(new Entry.DefaultSoundEntry(entryX, entryWidth, entryHeight, this));
         addEntry(new Entry.SoundSourceEntry(entryX, entryWidth, entryHeight, this));
@@ -144,6 +149,45 @@ public class GlobalOptionList extends OptionList {
             }
         }
 
+        private static class SendLimitEntry extends MainOptionList.Entry {
+            SendLimitEntry(int x, int width, int height) {
+                super();
+                int fieldWidth = Minecraft.getInstance().font.width("00000+++");
+                int labelWidth = width - (fieldWidth * 2) - (SPACING * 2);
+
+                StringWidget label = new StringWidget(x, 0, labelWidth, height,
+                        localized("option", "global.send_limit", "\u2139"),
+                        Minecraft.getInstance().font);
+                label.setTooltip(Tooltip.create(localized("option", "global.send_limit.tooltip")));
+                label.setTooltipDelay(Duration.ofMillis(500));
+                elements.add(label);
+
+                TextField intervalField = new TextField(x + labelWidth + SPACING, 0,
+                        fieldWidth, height);
+                intervalField.posIntValidator();
+                intervalField.setTooltip(Tooltip.create(localized("option", 
+                        "global.send_limit.interval.tooltip")));
+                intervalField.setTooltipDelay(Duration.ofMillis(500));
+                intervalField.setMaxLength(5);
+                intervalField.setResponder((str) -> 
+                        Config.get().sendInterval = Integer.parseInt(str.strip()));
+                intervalField.setValue(String.valueOf(Config.get().sendInterval));
+                elements.add(intervalField);
+
+                TextField burstField = new TextField(x + width - fieldWidth, 0,
+                        fieldWidth, height);
+                burstField.posIntValidator();
+                burstField.setTooltip(Tooltip.create(localized("option", 
+                        "global.send_limit.burst.tooltip")));
+                burstField.setTooltipDelay(Duration.ofMillis(500));
+                burstField.setMaxLength(5);
+                burstField.setResponder((str) -> 
+                        Config.get().sendBurst = Integer.parseInt(str.strip()));
+                burstField.setValue(String.valueOf(Config.get().sendBurst));
+                elements.add(burstField);
+            }
+        }
+
         private static class MultiModeEntry extends MainOptionList.Entry {
             MultiModeEntry(int x, int width, int height) {
                 super();
@@ -191,6 +235,53 @@ public class GlobalOptionList extends OptionList {
             }
         }
 
+        private static class StorageModeEntry extends MainOptionList.Entry {
+            StorageModeEntry(int x, int width, int height) {
+                super();
+
+                elements.add(CycleButton.<Config.StorageMode>builder((mode) ->
+                                localized("option", "global.storage_mode." + mode.name()))
+                        .withValues(Config.StorageMode.values())
+                        .withInitialValue(Config.get().storageMode)
+                        .withTooltip((mode) -> Tooltip.create(
+                                localized("option", "global.storage_mode."
+                                        + mode.name() + ".tooltip")))
+                        .create(x, 0, width, height,
+                                localized("option", "global.storage_mode"),
+                                (button, mode) -> Config.get().storageMode = mode));
+            }
+        }
+
+        private static class RegexEntry extends MainOptionList.Entry {
+            RegexEntry(int x, int width, int height) {
+                super();
+                int budgetFieldWidth = Minecraft.getInstance().font.width("000000+++");
+
+                elements.add(CycleButton.<Config.RegexEngine>builder((engine) ->
+                                localized("option", "global.regex_engine." + engine.name()))
+                        .withValues(Config.RegexEngine.values())
+                        .withInitialValue(Config.get().regexEngine)
+                        .withTooltip((engine) -> Tooltip.create(
+                                localized("option", "global.regex_engine."
+                                        + engine.name() + ".tooltip")))
+                        .create(x, 0, width - budgetFieldWidth - SPACING, height,
+                                localized("option", "global.regex_engine"),
+                                (button, engine) -> Config.get().regexEngine = engine));
+
+                TextField budgetField = new TextField(x + width - budgetFieldWidth, 0,
+                        budgetFieldWidth, height);
+                budgetField.posIntValidator();
+                budgetField.setTooltip(Tooltip.create(localized("option", 
+                        "global.regex_budget.tooltip", Notification.maxRegexOverruns)));
+                budgetField.setTooltipDelay(Duration.ofMillis(500));
+                budgetField.setMaxLength(6);
+                budgetField.setResponder((str) -> 
+                        Config.get().regexBudget = Integer.parseInt(str.strip()));
+                budgetField.setValue(String.valueOf(Config.get().regexBudget));
+                elements.add(budgetField);
+            }
+        }
+
         private static class DefaultColorEntry extends MainOptionList.Entry {
             DefaultColorEntry(int x, int width, int height, GlobalOptionList list) {
                 super();
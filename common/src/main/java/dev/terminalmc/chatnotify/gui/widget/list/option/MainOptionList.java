@@ -100,6 +100,7 @@ public class MainOptionList extends OptionList {
     private void openNotificationConfig(int index) {
         Notification notif = Config.get().getNotifs().get(index);
         notif.editing = true;
+        notif.markDirty();
         minecraft.setScreen(new OptionsScreen(minecraft.screen, localized("option", "notif"),
                 new NotifOptionList(minecraft, width, height, getY(), itemHeight,
                         entryWidth, entryHeight, notif, () -> notif.editing = false)));
@@ -107,6 +108,7 @@ public class MainOptionList extends OptionList {
 
     private void openTriggerConfig(Notification notif, Trigger trigger) {
         notif.editing = true;
+        notif.markDirty();
         minecraft.setScreen(new OptionsScreen(minecraft.screen, localized("option", "trigger"),
                 new TriggerOptionList(minecraft, width, height, getY(), itemHeight,
                         entryWidth, entryHeight, trigger, notif.textStyle, "", "", 
@@ -115,6 +117,7 @@ public class MainOptionList extends OptionList {
 
     private void openKeyConfig(Notification notif, Trigger trigger, TextStyle textStyle) {
         notif.editing = true;
+        notif.markDirty();
         minecraft.setScreen(new OptionsScreen(minecraft.screen, localized("option", "key"),
                 new KeyOptionList(minecraft, width, height, getY(), entryWidth, entryHeight, 
                         trigger, textStyle, () -> notif.editing = false)));
@@ -122,6 +125,7 @@ public class MainOptionList extends OptionList {
 
     private void openSoundConfig(Notification notif) {
         notif.editing = true;
+        notif.markDirty();
         minecraft.setScreen(new OptionsScreen(minecraft.screen, localized("option", "sound"),
                 new SoundOptionList(minecraft, width, height, getY(), entryWidth, entryHeight, 
                         notif.sound, () -> notif.editing = false)));
@@ -282,6 +286,7 @@ public class MainOptionList extends OptionList {
                             .create(movingX, 0, list.tinyWidgetWidth, height, Component.empty(),
                                     (button, type) -> {
                                         trigger.type = type;
+                                        notif.markDirty();
                                         list.reload();
                                     });
                     typeButton.setTooltipDelay(Duration.ofMillis(200));
@@ -296,7 +301,13 @@ public class MainOptionList extends OptionList {
                         () -> list.openNotificationConfig(index));
                 if (singleTrig && trigger.type == Trigger.Type.REGEX) triggerField.regexValidator();
                 triggerField.setMaxLength(240);
-                if (singleTrig) triggerField.setResponder((str) -> trigger.string = str.strip());
+                if (singleTrig) triggerField.setResponder((str) -> {
+                    str = str.strip();
+                    if (!str.equals(trigger.string)) {
+                        trigger.string = str;
+                        notif.markDirty();
+                    }
+                });
                 triggerField.setValue(singleTrig 
                         ? trigger.string 
                         : createLabel(notif, triggerFieldWidth - 10).getString());
@@ -364,7 +375,10 @@ public class MainOptionList extends OptionList {
                                     list.screen.height / 2 - cpHeight / 2,
                                     cpWidth, cpHeight,
                                     () -> notif.textStyle.color,
-                                    (color) -> notif.textStyle.color = color,
+                                    (color) -> {
+                                        notif.textStyle.color = color;
+                                        notif.markDirty();
+                                    },
                                     (widget) -> {
                                         list.screen.removeOverlayWidget();
                                         list.reload();
@@ -372,6 +386,7 @@ public class MainOptionList extends OptionList {
                         }, (button) -> {
                             // Toggle color
                             notif.textStyle.doColor = !notif.textStyle.doColor;
+                            notif.markDirty();
                             list.reload();
                         });
                 colorEditButton.setTooltip(Tooltip.create(localized(
@@ -388,7 +403,10 @@ public class MainOptionList extends OptionList {
                         TextColor textColor = ColorUtil.parseColor(val);
                         if (textColor != null) {
                             int color = textColor.getValue();
-                            notif.textStyle.color = color;
+                            if (color != notif.textStyle.color) {
+                                notif.textStyle.color = color;
+                                notif.markDirty();
+                            }
                             float[] hsv = new float[3];
                             Color.RGBtoHSB(FastColor.ARGB32.red(color), FastColor.ARGB32.green(color),
                                     FastColor.ARGB32.blue(color), hsv);
@@ -416,7 +434,11 @@ public class MainOptionList extends OptionList {
                     TextField soundField = new TextField(movingX, 0, soundFieldWidth, height);
                     soundField.soundValidator();
                     soundField.setMaxLength(240);
-                    soundField.setResponder(notif.sound::setId);
+                    soundField.setResponder((str) -> {
+                        String id = notif.sound.getId();
+                        notif.sound.setId(str);
+                        if (!notif.sound.getId().equals(id)) notif.markDirty();
+                    });
                     soundField.setValue(notif.sound.getId());
                     soundField.setTooltip(Tooltip.create(
                             localized("option", "main.sound.tooltip")));
@@ -435,6 +457,7 @@ public class MainOptionList extends OptionList {
                         }, (button) -> {
                             // Toggle sound
                             notif.sound.setEnabled(!notif.sound.isEnabled());
+                            notif.markDirty();
                             list.reload();
                         });
                 soundEditButton.setTooltip(Tooltip.create(localized(
@@ -450,9 +473,9 @@ public class MainOptionList extends OptionList {
                                 CommonComponents.OPTION_ON.copy().withStyle(ChatFormatting.GREEN),
                                 CommonComponents.OPTION_OFF.copy().withStyle(ChatFormatting.RED))
                         .displayOnlyValue()
-                        .withInitialValue(notif.enabled)
+                        .withInitialValue(notif.enabled && !notif.regexOverrunDisabled)
                         .create(x + width - statusButtonWidth, 0, statusButtonWidth, height,
-                                Component.empty(), (button, status) -> notif.enabled = status));
+                                Component.empty(), (button, status) -> notif.setEnabled(status)));
                 
                 if (index != 0) {
                     // Drag reorder button (left-side extension)
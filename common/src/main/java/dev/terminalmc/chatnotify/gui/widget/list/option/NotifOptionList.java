@@ -56,8 +56,17 @@ public class NotifOptionList extends OptionList {
         super(mc, width, height, y, itemHeight, entryWidth, entryHeight);
         this.notif = notif;
         notif.editing = true;
+        notif.markDirty();
         this.closeRunnable = closeRunnable;
 
+        if (notif.regexOverrunDisabled) {
+            addEntry(new OptionList.Entry.TextEntry(entryX, entryWidth, entryHeight,
+                    localized("option", "notif.regex_overrun", "\u26A0")
+                            .withStyle(ChatFormatting.RED),
+                    Tooltip.create(localized("option", "notif.regex_overrun.tooltip",
+                            Config.get().regexBudget, notif.regexOverruns)), -1));
+        }
+
         addEntry(new OptionList.Entry.TextEntry(entryX, entryWidth, entryHeight,
                 localized("option", "notif.triggers", "\u2139"),
                 Tooltip.create(localized("option", "notif.triggers.tooltip")), -1));
@@ -269,8 +278,11 @@ public class NotifOptionList extends OptionList {
                         .withValues(Trigger.Type.values())
                         .displayOnlyValue()
                         .withInitialValue(trigger.type)
-                        .withTooltip((type) -> Tooltip.create(
-                                localized("option", "notif.trigger.type." + type + ".tooltip")))
+                        .withTooltip((type) -> type == Trigger.Type.REGEX
+                                ? regexTypeTooltip("notif.trigger.type." + type + ".tooltip",
+                                        trigger.string)
+                                : Tooltip.create(localized("option",
+                                        "notif.trigger.type." + type + ".tooltip")))
                         .create(movingX, 0, list.tinyWidgetWidth, height, Component.empty(),
                                 (button, type) -> {
                                     trigger.type = type;
@@ -284,7 +296,13 @@ public class NotifOptionList extends OptionList {
                 TextField triggerField = new TextField(movingX, 0, triggerFieldWidth, height);
                 if (trigger.type == Trigger.Type.REGEX) triggerField.regexValidator();
                 triggerField.setMaxLength(240);
-                triggerField.setResponder((str) -> trigger.string = str.strip());
+                triggerField.setResponder((str) -> {
+                    trigger.string = str.strip();
+                    if (trigger.type == Trigger.Type.REGEX) {
+                        typeButton.setTooltip(regexTypeTooltip(
+                                "notif.trigger.type." + trigger.type + ".tooltip", trigger.string));
+                    }
+                });
                 triggerField.setValue(trigger.string);
                 triggerField.setTooltip(Tooltip.create(
                         localized("option", "trigger.field.tooltip")));
@@ -372,8 +390,11 @@ public class NotifOptionList extends OptionList {
                         .withValues(StyleTarget.Type.values())
                         .displayOnlyValue()
                         .withInitialValue(styleTarget.type)
-                        .withTooltip((type) -> Tooltip.create(
-                                localized("option", "notif.style_target.type." + type + ".tooltip")))
+                        .withTooltip((type) -> type == StyleTarget.Type.REGEX
+                                ? regexTypeTooltip("notif.style_target.type." + type + ".tooltip",
+                                        styleTarget.string)
+                                : Tooltip.create(localized("option",
+                                        "notif.style_target.type." + type + ".tooltip")))
                         .create(movingX, 0, list.tinyWidgetWidth, height, Component.empty(),
                                 (button, type) -> {
                                     styleTarget.type = type;
@@ -388,7 +409,13 @@ public class NotifOptionList extends OptionList {
                 if (styleTarget.type == StyleTarget.Type.REGEX) stringField.regexValidator();
                 stringField.setMaxLength(240);
                 stringField.setValue(styleTarget.string);
-                stringField.setResponder((string) -> styleTarget.string = string.strip());
+                stringField.setResponder((string) -> {
+                    styleTarget.string = string.strip();
+                    if (styleTarget.type == StyleTarget.Type.REGEX) {
+                        typeButton.setTooltip(regexTypeTooltip("notif.style_target.type."
+                                + styleTarget.type + ".tooltip", styleTarget.string));
+                    }
+                });
                 stringField.setTooltip(Tooltip.create(
                         localized("option", "notif.style_target.field.tooltip")));
                 stringField.setTooltipDelay(Duration.ofMillis(500));
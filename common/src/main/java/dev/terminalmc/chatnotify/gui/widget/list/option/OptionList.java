@@ -17,6 +17,8 @@
 package dev.terminalmc.chatnotify.gui.widget.list.option;
 
 import dev.terminalmc.chatnotify.ChatNotify;
+import dev.terminalmc.chatnotify.config.Config;
+import dev.terminalmc.chatnotify.match.Regex;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.ComponentPath;
 import net.minecraft.client.gui.GuiGraphics;
@@ -25,6 +27,7 @@ import net.minecraft.client.gui.components.events.GuiEventListener;
 import net.minecraft.client.gui.narration.NarratableEntry;
 import net.minecraft.client.gui.navigation.FocusNavigationEvent;
 import net.minecraft.network.chat.Component;
+import net.minecraft.network.chat.MutableComponent;
 import dev.terminalmc.chatnotify.gui.widget.slider.DoubleSlider;
 import dev.terminalmc.chatnotify.gui.widget.SilentButton;
 import dev.terminalmc.chatnotify.gui.screen.OptionsScreen;
@@ -38,6 +41,8 @@ import java.util.List;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 
+import static dev.terminalmc.chatnotify.util.Localization.localized;
+
 /**
  * Tightly coupled to a generic {@link OptionsScreen}, allowing many unique
  * options screens to use a single screen implementation, while displaying
@@ -113,6 +118,22 @@ public abstract class OptionList extends ContainerObjectSelectionList<OptionList
 
     public void onClose() {}
 
+    /**
+     * Creates a tooltip for a regex type button, indicating which engine will
+     * be used to match the regex.
+     * @param key the localization key of the type tooltip.
+     * @param regex the regex string.
+     */
+    protected static Tooltip regexTypeTooltip(String key, String regex) {
+        MutableComponent tooltip = localized("option", key);
+        Config.RegexEngine engine = Regex.resolveEngine(regex, Config.get().regexEngine);
+        if (engine != null) {
+            tooltip.append("\n\n").append(localized("option",
+                    "notif.regex_engine." + engine.name()));
+        }
+        return Tooltip.create(tooltip);
+    }
+
     /**
      * Base implementation of {@link Entry}, with common entries.
      */
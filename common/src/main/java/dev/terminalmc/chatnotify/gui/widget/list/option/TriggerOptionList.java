@@ -26,6 +26,10 @@ import dev.terminalmc.chatnotify.gui.screen.OptionsScreen;
 import dev.terminalmc.chatnotify.gui.widget.HsvColorPicker;
 import dev.terminalmc.chatnotify.gui.widget.field.MultiLineTextField;
 import dev.terminalmc.chatnotify.gui.widget.field.TextField;
+import dev.terminalmc.chatnotify.match.CompiledTrigger;
+import dev.terminalmc.chatnotify.match.MatchPlan;
+import dev.terminalmc.chatnotify.match.NormalMatcher;
+import dev.terminalmc.chatnotify.match.RegexMatcher;
 import dev.terminalmc.chatnotify.util.FormatUtil;
 import dev.terminalmc.chatnotify.util.MessageUtil;
 import dev.terminalmc.chatnotify.util.StyleUtil;
@@ -41,9 +45,6 @@ import org.jetbrains.annotations.Nullable;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-import java.util.regex.PatternSyntaxException;
 
 import static dev.terminalmc.chatnotify.util.Localization.localized;
 
@@ -111,42 +112,36 @@ public class TriggerOptionList extends OptionList {
     
     private void addChat(List<Component> allChat) {
         Minecraft mc = Minecraft.getInstance();
-        boolean restyleAll = Config.get().restyleMode.equals(Config.RestyleMode.ALL_INSTANCES);
+        Config config = Config.get();
+        boolean restyleAll = config.restyleMode.equals(Config.RestyleMode.ALL_INSTANCES);
+        CompiledTrigger compiled = CompiledTrigger.of(trigger, 0, config.regexEngine);
+        MatchPlan plan = MatchPlan.get();
         
         // Filter and restyle, retaining original copies of messages to use
         // when displaying text and key of a clicked message.
         List<Pair<Component, Component>> displayChat = new ArrayList<>();
         for (Component msg : allChat) {
             Component restyledMsg = msg.copy();
-            Matcher matcher = null;
+            NormalMatcher normalMatcher = null;
+            RegexMatcher matcher = null;
             String msgStr = FormatUtil.stripCodes(msg.getString());
-            boolean hit = switch(trigger.type) {
+            String foldedStr = NormalMatcher.fold(msgStr);
+            boolean hit = switch(compiled.type) {
                 case NORMAL -> {
-                    matcher = MessageUtil.normalSearch(msgStr, trigger.string);
-                    yield matcher.find();
+                    normalMatcher = compiled.normalMatcher(msgStr, foldedStr);
+                    yield normalMatcher.find();
                 }
                 case REGEX -> {
-                    try {
-                        matcher = Pattern.compile(trigger.string).matcher(msgStr);
-                        yield matcher.find();
-                    } catch (PatternSyntaxException ignored) {
-                        yield false;
-                    }
+                    if (compiled.pattern == null) yield false;
+                    matcher = compiled.pattern.matcher(msgStr);
+                    yield matcher.find();
                 }
-                case KEY -> MessageUtil.keySearch(msg, trigger.string);
+                case KEY -> MessageUtil.keySearch(msg, compiled.string);
             };
             if (filter && !hit) continue;
             else if (restyle && hit) {
-                if (trigger.styleTarget.enabled) {
-                    // Process style target string if required prior to restyle
-                    if (trigger.styleTarget.type == StyleTarget.Type.REGEX) {
-                        trigger.styleTarget.tryCompilePattern();
-                    } else if (trigger.styleTarget.type == StyleTarget.Type.CAPTURING) {
-                        trigger.styleTarget.tryParseIndexes();
-                    }
-                }
-                restyledMsg = StyleUtil.restyle(
-                        msg, msgStr, trigger, matcher, textStyle, restyleAll);
+                restyledMsg = StyleUtil.restyle(msg, msgStr, foldedStr, compiled, 
+                        normalMatcher, matcher, textStyle, restyleAll, plan);
             }
             displayChat.add(new Pair<>(msg, restyledMsg));
         }
@@ -210,8 +205,11 @@ public class TriggerOptionList extends OptionList {
                         .withValues(Trigger.Type.values())
                         .displayOnlyValue()
                         .withInitialValue(trigger.type)
-                        .withTooltip((type) -> Tooltip.create(
-                                localized("option", "notif.trigger.type." + type + ".tooltip")))
+                        .withTooltip((type) -> type == Trigger.Type.REGEX
+                                ? regexTypeTooltip("notif.trigger.type." + type + ".tooltip",
+                                        trigger.string)
+                                : Tooltip.create(localized("option",
+                                        "notif.trigger.type." + type + ".tooltip")))
                         .create(movingX, 0, list.tinyWidgetWidth, height, Component.empty(),
                                 (button, type) -> {
                                     trigger.type = type;
@@ -228,6 +226,10 @@ public class TriggerOptionList extends OptionList {
                 if (trigger.type == Trigger.Type.REGEX) triggerField.regexValidator();
                 triggerField.setValueListener((str) -> {
                     trigger.string = str.strip();
+                    if (trigger.type == Trigger.Type.REGEX) {
+                        typeButton.setTooltip(regexTypeTooltip(
+                                "notif.trigger.type." + trigger.type + ".tooltip", trigger.string));
+                    }
                     if (list.children().size() > 4) {
                         list.children().removeIf((entry) -> entry instanceof MessageEntry 
                                 || entry instanceof TextEntry 
@@ -299,8 +301,11 @@ public class TriggerOptionList extends OptionList {
                         .withValues(StyleTarget.Type.values())
                         .displayOnlyValue()
                         .withInitialValue(styleTarget.type)
-                        .withTooltip((type) -> Tooltip.create(
-                                localized("option", "notif.style_target.type." + type + ".tooltip")))
+                        .withTooltip((type) -> type == StyleTarget.Type.REGEX
+                                ? regexTypeTooltip("notif.style_target.type." + type + ".tooltip",
+                                        styleTarget.string)
+                                : Tooltip.create(localized("option",
+                                        "notif.style_target.type." + type + ".tooltip")))
                         .create(movingX, 0, list.tinyWidgetWidth, height, Component.empty(),
                                 (button, type) -> {
                                     styleTarget.type = type;
@@ -317,6 +322,10 @@ public class TriggerOptionList extends OptionList {
                 stringField.setValue(styleTarget.string);
                 stringField.setResponder((string) -> {
                     styleTarget.string = string.strip();
+                    if (styleTarget.type == StyleTarget.Type.REGEX) {
+                        typeButton.setTooltip(regexTypeTooltip("notif.style_target.type."
+                                + styleTarget.type + ".tooltip", styleTarget.string));
+                    }
                     list.children().removeIf((entry) -> entry instanceof MessageEntry
                             || entry instanceof TextEntry
                             || (entry instanceof SpaceEntry && list.children().indexOf(entry) > 4));
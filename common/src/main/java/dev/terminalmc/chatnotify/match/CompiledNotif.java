@@ -0,0 +1,280 @@
+/*
+ * Copyright 2025 TerminalMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.terminalmc.chatnotify.match;
+
+import dev.terminalmc.chatnotify.config.*;
+import dev.terminalmc.chatnotify.util.ActivationLimiter;
+import net.minecraft.resources.ResourceLocation;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Immutable snapshot of a {@link Notification}, with all triggers, exclusion
+ * triggers and custom messages processed ahead of time.
+ *
+ * <p><b>Note:</b> Retains a reference to the source {@link Notification} only
+ * to read the transient {@link Notification#editing} and
+ * {@link Notification#regexOverrunDisabled} flags, and to record regex budget
+ * overruns and activations.</p>
+ */
+public class CompiledNotif {
+    /**
+     * The source {@link Notification}.
+     */
+    public final Notification source;
+
+    /**
+     * Copy of {@link Notification#getId}.
+     */
+    public final String id;
+
+    /**
+     * The index of the source {@link Notification} in the config list.
+     */
+    public final int index;
+
+    private final boolean enabled;
+
+    /**
+     * Whether this instance can be activated by a message sent by the user,
+     * with {@link Notification.CheckOwnMode#DEFER} already resolved.
+     */
+    private final boolean activateOnOwn;
+
+    /**
+     * Copy of {@link Notification#exclusionEnabled}.
+     */
+    public final boolean exclusionEnabled;
+
+    /**
+     * {@link Notification#cooldownTicks} in nanoseconds.
+     */
+    private final long cooldownNanos;
+
+    /**
+     * Copy of {@link Notification#floodLimit}.
+     */
+    private final int floodLimit;
+
+    /**
+     * {@link Notification#floodWindowTicks} in nanoseconds.
+     */
+    private final long floodWindowNanos;
+
+    /**
+     * The sound to play on activation, or {@code null} if the {@link Sound} is
+     * disabled, muted or invalid.
+     */
+    public final @Nullable ResourceLocation sound;
+    public final float soundVolume;
+    public final float soundPitch;
+
+    /**
+     * Copy of {@link Notification#textStyle}.
+     */
+    public final TextStyle textStyle;
+
+    /**
+     * The replacement message with format codes converted, or {@code null} if
+     * disabled.
+     */
+    public final @Nullable MessageTemplate replacementMsg;
+
+    /**
+     * The status bar message with format codes converted, or {@code null} if
+     * disabled.
+     */
+    public final @Nullable MessageTemplate statusBarMsg;
+
+    /**
+     * The title message with format codes converted, or {@code null} if
+     * disabled.
+     */
+    public final @Nullable MessageTemplate titleMsg;
+
+    /**
+     * The non-blank activation triggers.
+     */
+    public final List<CompiledTrigger> triggers;
+
+    /**
+     * The non-blank exclusion triggers, or an empty list if exclusion is
+     * disabled.
+     */
+    public final List<CompiledTrigger> exclusionTriggers;
+
+    /**
+     * The non-blank response messages, or an empty list if responses are
+     * disabled.
+     */
+    public final List<Response> responses;
+
+    private CompiledNotif(Notification notif, int index, boolean checkOwnMessages,
+                          Config.RegexEngine regexEngine,
+                          @Nullable CompiledNotif previous,
+                          List<CompiledTrigger> normalTriggers,
+                          List<CompiledTrigger> regexTriggers) {
+        this.source = notif;
+        this.id = notif.getId();
+        this.index = index;
+        this.enabled = notif.enabled;
+        this.activateOnOwn = switch(notif.checkOwnMode) {
+            case DEFER -> checkOwnMessages;
+            case ON -> true;
+            case OFF -> false;
+        };
+        this.exclusionEnabled = notif.exclusionEnabled;
+        this.cooldownNanos = notif.cooldownTicks * ActivationLimiter.NANOS_PER_TICK;
+        this.floodLimit = notif.floodLimit;
+        this.floodWindowNanos = notif.floodWindowTicks * ActivationLimiter.NANOS_PER_TICK;
+
+        this.sound = notif.sound.isEnabled() && notif.sound.getVolume() > 0
+                ? notif.sound.getResourceLocation() : null;
+        this.soundVolume = notif.sound.getVolume();
+        this.soundPitch = notif.sound.getPitch();
+        this.textStyle = new TextStyle(
+                notif.textStyle.doColor,
+                notif.textStyle.color,
+                notif.textStyle.bold,
+                notif.textStyle.italic,
+                notif.textStyle.underlined,
+                notif.textStyle.strikethrough,
+                notif.textStyle.obfuscated
+        );
+
+        this.replacementMsg = notif.replacementMsgEnabled
+                ? MessageTemplate.of(convertCodes(notif.replacementMsg)) : null;
+        this.statusBarMsg = notif.statusBarMsgEnabled
+                ? MessageTemplate.of(convertCodes(notif.statusBarMsg)) : null;
+        this.titleMsg = notif.titleMsgEnabled
+                ? MessageTemplate.of(convertCodes(notif.titleMsg)) : null;
+
+        List<CompiledTrigger> triggers = new ArrayList<>();
+        for (int i = 0; i < notif.triggers.size(); i++) {
+            Trigger trig = notif.triggers.get(i);
+            if (!trig.string.isBlank()) {
+                triggers.add(CompiledTrigger.of(trig, i, index, regexEngine, 
+                        previous != null ? find(previous.triggers, i) : null,
+                        normalTriggers, regexTriggers));
+            }
+        }
+        this.triggers = List.copyOf(triggers);
+
+        List<CompiledTrigger> exclusionTriggers = new ArrayList<>();
+        if (notif.exclusionEnabled) {
+            for (int i = 0; i < notif.exclusionTriggers.size(); i++) {
+                Trigger trig = notif.exclusionTriggers.get(i);
+                if (!trig.string.isBlank()) {
+                    exclusionTriggers.add(
+                            CompiledTrigger.exclusion(trig, i, index, regexEngine,
+                                    previous != null ? find(previous.exclusionTriggers, i) : null,
+                                    normalTriggers, regexTriggers));
+                }
+            }
+        }
+        this.exclusionTriggers = List.copyOf(exclusionTriggers);
+
+        List<Response> responses = new ArrayList<>();
+        if (notif.responseEnabled) {
+            for (ResponseMessage resMsg : notif.responseMessages) {
+                if (!resMsg.string.isBlank()) responses.add(new Response(resMsg));
+            }
+        }
+        this.responses = List.copyOf(responses);
+    }
+
+    /**
+     * Compiles the specified {@link Notification}.
+     * @param notif the {@link Notification}.
+     * @param index the index of the {@link Notification} in the config list.
+     * @param checkOwnMessages the value of {@link Config#checkOwnMessages}.
+     * @param regexEngine the value of {@link Config#regexEngine}.
+     * @param previous the previous compilation of the {@link Notification},
+     *                 compiled with the same engine, whose unchanged triggers
+     *                 are reused.
+     * @param normalTriggers the list of normal triggers in the plan, to which
+     *                       all normal triggers of the {@link Notification}
+     *                       are added.
+     * @param regexTriggers the list of valid regex triggers in the plan, to
+     *                      which all valid regex triggers of the
+     *                      {@link Notification} are added.
+     */
+    static CompiledNotif of(Notification notif, int index, boolean checkOwnMessages,
+                            Config.RegexEngine regexEngine,
+                            @Nullable CompiledNotif previous,
+                            List<CompiledTrigger> normalTriggers,
+                            List<CompiledTrigger> regexTriggers) {
+        return new CompiledNotif(notif, index, checkOwnMessages, regexEngine,
+                previous, normalTriggers, regexTriggers);
+    }
+
+    /**
+     * @return the trigger compiled from the source trigger at the specified 
+     * index, or {@code null} if none.
+     */
+    private static @Nullable CompiledTrigger find(List<CompiledTrigger> triggers, int index) {
+        for (CompiledTrigger trig : triggers) {
+            if (trig.index == index) return trig;
+        }
+        return null;
+    }
+
+    /**
+     * Equivalent of {@link Notification#canActivate}, using the snapshot
+     * values.
+     */
+    public boolean canActivate(boolean ownMsg) {
+        return enabled && !source.editing && !source.regexOverrunDisabled
+                && (!ownMsg || activateOnOwn);
+    }
+
+    /**
+     * Records an activation with the {@link ActivationLimiter} of the source
+     * {@link Notification}, unless it is suppressed by
+     * {@link Notification#cooldownTicks} or {@link Notification#floodLimit}.
+     * @return {@code true} if the activation is allowed, {@code false} if it
+     * was suppressed.
+     */
+    public boolean tryActivate() {
+        return source.activationLimiter.tryActivate(System.nanoTime(),
+                cooldownNanos, floodLimit, floodWindowNanos);
+    }
+
+    /**
+     * Replaces {@code $} with the section sign, for use as a format code.
+     */
+    private static String convertCodes(String msg) {
+        return msg.replace('$', '\u00A7');
+    }
+
+    /**
+     * Immutable snapshot of a {@link ResponseMessage}.
+     */
+    public static class Response {
+        public final ResponseMessage.Type type;
+        public final MessageTemplate template;
+        public final int delayTicks;
+
+        private Response(ResponseMessage resMsg) {
+            this.type = resMsg.type;
+            this.template = MessageTemplate.of(resMsg.string);
+            this.delayTicks = resMsg.delayTicks;
+        }
+    }
+}
@@ -0,0 +1,290 @@
+/*
+ * Copyright 2025 TerminalMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.terminalmc.chatnotify.match;
+
+import dev.terminalmc.chatnotify.ChatNotify;
+import dev.terminalmc.chatnotify.config.Config;
+import dev.terminalmc.chatnotify.config.StyleTarget;
+import dev.terminalmc.chatnotify.config.Trigger;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Immutable snapshot of a {@link Trigger} and its {@link StyleTarget}, with
+ * all patterns compiled ahead of time.
+ */
+public class CompiledTrigger {
+    /**
+     * The index of the source {@link Trigger} in its list.
+     */
+    public final int index;
+
+    /**
+     * The index of the parent {@link CompiledNotif} in the config list, or
+     * {@code -1} if not part of a {@link MatchPlan}.
+     */
+    public final int notifIndex;
+
+    /**
+     * The index of this trigger in {@link MatchPlan#normalTriggers} or
+     * {@link MatchPlan#regexTriggers} according to
+     * {@link CompiledTrigger#type}, or {@code -1} if in neither or not part
+     * of a {@link MatchPlan}.
+     */
+    public final int id;
+
+    /**
+     * Copy of {@link Trigger#type}.
+     */
+    public final Trigger.Type type;
+
+    /**
+     * Copy of {@link Trigger#string}.
+     */
+    public final @NotNull String string;
+
+    /**
+     * {@link CompiledTrigger#string}, case-folded for use with
+     * {@link NormalMatcher}.
+     */
+    public final @NotNull String foldedString;
+
+    /**
+     * A {@link Regex} compiled from {@link CompiledTrigger#string}, or
+     * {@code null} if {@link CompiledTrigger#type} is not
+     * {@link Trigger.Type#REGEX} or the string could not be compiled.
+     */
+    public final @Nullable Regex pattern;
+
+    /**
+     * Case-folded literal strings, at least one of which occurs in every match
+     * of {@link CompiledTrigger#pattern}, or an empty list if none could be
+     * determined.
+     */
+    public final List<String> requiredLiterals;
+
+    /**
+     * The compiled style target, or {@code null} if the {@link StyleTarget} is
+     * disabled or blank.
+     */
+    public final @Nullable Target styleTarget;
+
+    private CompiledTrigger(int index, int notifIndex, int id, Trigger.Type type, 
+                            @NotNull String string, @Nullable Regex pattern, 
+                            List<String> requiredLiterals, @Nullable Target styleTarget) {
+        this.index = index;
+        this.notifIndex = notifIndex;
+        this.id = id;
+        this.type = type;
+        this.string = string;
+        this.foldedString = NormalMatcher.fold(string);
+        this.pattern = pattern;
+        this.requiredLiterals = requiredLiterals;
+        this.styleTarget = styleTarget;
+    }
+
+    /**
+     * Compiles the specified {@link Trigger}, including its
+     * {@link StyleTarget}, for use outside of a {@link MatchPlan}.
+     * @param regexEngine the preferred engine for regex patterns.
+     */
+    public static CompiledTrigger of(Trigger trig, int index, 
+                                     Config.RegexEngine regexEngine) {
+        return of(trig, index, -1, regexEngine, null, null, null);
+    }
+
+    /**
+     * Compiles the specified {@link Trigger}, including its
+     * {@link StyleTarget}.
+     * @param regexEngine the preferred engine for regex patterns.
+     * @param previous the previous compilation of the trigger, compiled with
+     *                 the same engine, whose patterns are reused if its 
+     *                 string and type are unchanged.
+     * @param normalTriggers the list of normal triggers in the plan, to which
+     *                       the compiled trigger is added if it is normal.
+     * @param regexTriggers the list of valid regex triggers in the plan, to
+     *                      which the compiled trigger is added if it is a
+     *                      valid regex.
+     */
+    static CompiledTrigger of(Trigger trig, int index, int notifIndex,
+                              Config.RegexEngine regexEngine,
+                              @Nullable CompiledTrigger previous,
+                              @Nullable List<CompiledTrigger> normalTriggers,
+                              @Nullable List<CompiledTrigger> regexTriggers) {
+        CompiledTrigger reuse = canReuse(trig, previous) ? previous : null;
+        Regex pattern = reuse != null ? reuse.pattern : compile(trig, regexEngine);
+        List<CompiledTrigger> list = trig.type == Trigger.Type.NORMAL 
+                ? normalTriggers : pattern != null ? regexTriggers : null;
+        return register(new CompiledTrigger(
+                index,
+                notifIndex,
+                list != null ? list.size() : -1,
+                trig.type,
+                trig.string,
+                pattern,
+                reuse != null ? reuse.requiredLiterals : requiredLiterals(trig, pattern),
+                Target.of(trig.styleTarget, regexEngine, 
+                        previous != null ? previous.styleTarget : null)
+        ), list);
+    }
+
+    /**
+     * Compiles the specified exclusion {@link Trigger}, ignoring its
+     * {@link StyleTarget}.
+     * @param regexEngine the preferred engine for regex patterns.
+     * @param previous the previous compilation of the trigger, compiled with
+     *                 the same engine, whose patterns are reused if its 
+     *                 string and type are unchanged.
+     * @param normalTriggers the list of normal triggers in the plan, to which
+     *                       the compiled trigger is added if it is normal.
+     * @param regexTriggers the list of valid regex triggers in the plan, to
+     *                      which the compiled trigger is added if it is a
+     *                      valid regex.
+     */
+    static CompiledTrigger exclusion(Trigger trig, int index, int notifIndex,
+                                     Config.RegexEngine regexEngine,
+                                     @Nullable CompiledTrigger previous,
+                                     List<CompiledTrigger> normalTriggers,
+                                     List<CompiledTrigger> regexTriggers) {
+        CompiledTrigger reuse = canReuse(trig, previous) ? previous : null;
+        Regex pattern = reuse != null ? reuse.pattern : compile(trig, regexEngine);
+        List<CompiledTrigger> list = trig.type == Trigger.Type.NORMAL
+                ? normalTriggers : pattern != null ? regexTriggers : null;
+        return register(new CompiledTrigger(
+                index,
+                notifIndex,
+                list != null ? list.size() : -1,
+                trig.type,
+                trig.string,
+                pattern,
+                reuse != null ? reuse.requiredLiterals : requiredLiterals(trig, pattern),
+                null
+        ), list);
+    }
+
+    private static boolean canReuse(Trigger trig, @Nullable CompiledTrigger previous) {
+        return previous != null && previous.type == trig.type 
+                && previous.string.equals(trig.string);
+    }
+
+    private static @Nullable Regex compile(Trigger trig, Config.RegexEngine regexEngine) {
+        return trig.type == Trigger.Type.REGEX
+                ? Regex.tryCompile(trig.string, regexEngine) : null;
+    }
+
+    private static List<String> requiredLiterals(Trigger trig, @Nullable Regex pattern) {
+        return pattern != null ? LinearRegex.requiredLiterals(trig.string) : List.of();
+    }
+
+    private static CompiledTrigger register(CompiledTrigger trig, 
+                                            @Nullable List<CompiledTrigger> list) {
+        if (list != null) list.add(trig);
+        return trig;
+    }
+
+    /**
+     * Creates a {@link NormalMatcher} to search for this trigger.
+     * @param str the string to search.
+     * @param foldedStr {@code str}, case-folded by {@link NormalMatcher#fold}.
+     */
+    public NormalMatcher normalMatcher(String str, String foldedStr) {
+        return new NormalMatcher(str, foldedStr, foldedString);
+    }
+
+    /**
+     * Immutable snapshot of a {@link StyleTarget}.
+     */
+    public static class Target {
+        /**
+         * Copy of {@link StyleTarget#type}.
+         */
+        public final StyleTarget.Type type;
+
+        /**
+         * Copy of {@link StyleTarget#string}.
+         */
+        public final @NotNull String string;
+
+        /**
+         * {@link Target#string}, case-folded for use with
+         * {@link NormalMatcher}.
+         */
+        public final @NotNull String foldedString;
+
+        /**
+         * A {@link Regex} compiled from {@link Target#string}, or
+         * {@code null} if {@link Target#type} is not
+         * {@link StyleTarget.Type#REGEX} or the string could not be compiled.
+         */
+        public final @Nullable Regex pattern;
+
+        /**
+         * A list of integers parsed from {@link Target#string}, or an empty
+         * list if {@link Target#type} is not {@link StyleTarget.Type#CAPTURING}
+         * or the string could not be parsed.
+         */
+        public final List<Integer> groupIndexes;
+
+        private Target(StyleTarget.Type type, @NotNull String string,
+                       @Nullable Regex pattern, List<Integer> groupIndexes) {
+            this.type = type;
+            this.string = string;
+            this.foldedString = NormalMatcher.fold(string);
+            this.pattern = pattern;
+            this.groupIndexes = groupIndexes;
+        }
+
+        /**
+         * @param previous the previous compilation of the target, compiled
+         *                 with the same engine, which is reused if its string
+         *                 and type are unchanged.
+         * @return the compiled {@link StyleTarget}, or {@code null} if it is
+         * disabled or blank.
+         */
+        static @Nullable Target of(StyleTarget target, Config.RegexEngine regexEngine,
+                                   @Nullable Target previous) {
+            if (!target.enabled || target.string.isBlank()) return null;
+            if (previous != null && previous.type == target.type 
+                    && previous.string.equals(target.string)) {
+                return previous;
+            }
+            return new Target(
+                    target.type,
+                    target.string,
+                    target.type == StyleTarget.Type.REGEX
+                            ? Regex.tryCompile(target.string, regexEngine) : null,
+                    target.type == StyleTarget.Type.CAPTURING
+                            ? tryParseIndexes(target.string) : List.of()
+            );
+        }
+
+        private static List<Integer> tryParseIndexes(String string) {
+            List<Integer> indexes = new ArrayList<>();
+            for (String str : string.split(",")) {
+                try {
+                    indexes.add(Integer.parseInt(str));
+                } catch (NumberFormatException e) {
+                    ChatNotify.LOG.warn("Error processing style target: " + e);
+                }
+            }
+            return List.copyOf(indexes);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2025 TerminalMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.terminalmc.chatnotify.match;
+
+/**
+ * {@link CharSequence} wrapper which throws {@link RegexTimeoutException}
+ * from {@link DeadlineCharSequence#charAt} once its deadline has passed.
+ *
+ * <p>Both regex engines read their input only via {@link CharSequence#charAt},
+ * so this bounds the time spent in any single evaluation, including
+ * catastrophic backtracking.</p>
+ */
+class DeadlineCharSequence implements CharSequence {
+    /**
+     * The number of {@link DeadlineCharSequence#charAt} calls between clock
+     * reads.
+     */
+    private static final int CHECK_INTERVAL = 256;
+
+    private final CharSequence seq;
+    private final String regex;
+    private boolean armed = false;
+    private long deadline;
+    private int countdown;
+
+    DeadlineCharSequence(CharSequence seq, String regex) {
+        this.seq = seq;
+        this.regex = regex;
+    }
+
+    /**
+     * Sets the deadline to the specified time from now.
+     */
+    void arm(long budgetNanos) {
+        armed = true;
+        deadline = System.nanoTime() + budgetNanos;
+        countdown = CHECK_INTERVAL;
+    }
+
+    /**
+     * Clears the deadline.
+     */
+    void disarm() {
+        armed = false;
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (armed && --countdown <= 0) {
+            countdown = CHECK_INTERVAL;
+            if (System.nanoTime() - deadline > 0) {
+                armed = false;
+                throw new RegexTimeoutException(regex);
+            }
+        }
+        return seq.charAt(index);
+    }
+
+    @Override
+    public int length() {
+        return seq.length();
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        return seq.subSequence(start, end);
+    }
+
+    @Override
+    public String toString() {
+        return seq.toString();
+    }
+}
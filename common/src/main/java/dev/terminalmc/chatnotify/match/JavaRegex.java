@@ -0,0 +1,98 @@
+/*
+ * Copyright 2025 TerminalMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.terminalmc.chatnotify.match;
+
+import dev.terminalmc.chatnotify.config.Config;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * {@link Regex} backed by {@link java.util.regex}, which supports the full
+ * regex syntax but may backtrack.
+ */
+public class JavaRegex extends Regex {
+    private final Pattern pattern;
+
+    JavaRegex(Pattern pattern) {
+        super(pattern.pattern());
+        this.pattern = pattern;
+    }
+
+    @Override
+    public Config.RegexEngine engine() {
+        return Config.RegexEngine.JAVA;
+    }
+
+    @Override
+    public RegexMatcher matcher(CharSequence input) {
+        return new JavaMatcher(pattern.matcher(input));
+    }
+
+    private static class JavaMatcher implements RegexMatcher {
+        private final Matcher matcher;
+
+        JavaMatcher(Matcher matcher) {
+            this.matcher = matcher;
+        }
+
+        @Override
+        public boolean find() {
+            return matcher.find();
+        }
+
+        @Override
+        public boolean find(int start) {
+            return matcher.find(start);
+        }
+
+        @Override
+        public int start() {
+            return matcher.start();
+        }
+
+        @Override
+        public int start(int group) {
+            return matcher.start(group);
+        }
+
+        @Override
+        public int end() {
+            return matcher.end();
+        }
+
+        @Override
+        public int end(int group) {
+            return matcher.end(group);
+        }
+
+        @Override
+        public String group() {
+            return matcher.group();
+        }
+
+        @Override
+        public String group(int group) {
+            return matcher.group(group);
+        }
+
+        @Override
+        public int groupCount() {
+            return matcher.groupCount();
+        }
+    }
+}
@@ -0,0 +1,1264 @@
+/*
+ * Copyright 2025 TerminalMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.terminalmc.chatnotify.match;
+
+import dev.terminalmc.chatnotify.config.Config;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.function.IntPredicate;
+
+/**
+ * {@link Regex} engine with guaranteed linear-time matching, by simulation of
+ * a Thompson NFA (Pike VM).
+ *
+ * <p>Supports the subset of {@link java.util.regex.Pattern} syntax that can be
+ * matched without backtracking, with the same leftmost-first semantics:
+ * literals and escapes, character classes without nesting or intersection,
+ * predefined classes, groups, alternation, greedy and lazy quantifiers,
+ * anchors, word boundaries and the inline flags {@code i}, {@code m},
+ * {@code s} and {@code u}.</p>
+ *
+ * <p>Backreferences, lookaround, atomic groups, possessive quantifiers and
+ * Unicode properties are not supported. {@link LinearRegex#tryCompile} returns
+ * {@code null} for such regexes, so that the caller can fall back to
+ * {@link JavaRegex}.</p>
+ */
+public class LinearRegex extends Regex {
+    /**
+     * Upper limit on program size, mainly reached by large counted
+     * repetitions.
+     */
+    private static final int MAX_PROGRAM_SIZE = 10000;
+
+    // Instruction opcodes
+    private static final int CHAR = 0;
+    private static final int PRED = 1;
+    private static final int SPLIT = 2;
+    private static final int JMP = 3;
+    private static final int SAVE = 4;
+    private static final int ASSERT = 5;
+    private static final int MATCH = 6;
+
+    // Assertion kinds
+    private static final int BEGIN = 0;
+    private static final int CARET = 1;
+    private static final int DOLLAR = 2;
+    private static final int DOLLAR_MULTILINE = 3;
+    private static final int END = 4;
+    private static final int WORD_BOUNDARY = 5;
+    private static final int NOT_WORD_BOUNDARY = 6;
+
+    // Program
+    private final int[] ops;
+    private final int[] args1;
+    private final int[] args2;
+    private final IntPredicate[] preds;
+    private final int groupCount;
+    private final boolean hasSupplementary;
+
+    private LinearRegex(String pattern, int[] ops, int[] args1, int[] args2,
+                        IntPredicate[] preds, int groupCount, boolean hasSupplementary) {
+        super(pattern);
+        this.ops = ops;
+        this.args1 = args1;
+        this.args2 = args2;
+        this.preds = preds;
+        this.groupCount = groupCount;
+        this.hasSupplementary = hasSupplementary;
+    }
+
+    /**
+     * Compiles the specified regex string.
+     *
+     * <p><b>Note:</b> The string must already be known to be a valid
+     * {@link java.util.regex.Pattern}.</p>
+     * @param regex the regex string.
+     * @return the compiled {@link LinearRegex}, or {@code null} if the string
+     * uses unsupported syntax.
+     */
+    public static @Nullable LinearRegex tryCompile(String regex) {
+        try {
+            Parser parser = new Parser(regex);
+            Node root = parser.parse();
+            Compiler compiler = new Compiler();
+            compiler.emit(SAVE, 0, 0);
+            compiler.compile(root);
+            compiler.emit(SAVE, 1, 0);
+            compiler.emit(MATCH, 0, 0);
+            return new LinearRegex(regex,
+                    Arrays.copyOf(compiler.ops, compiler.size),
+                    Arrays.copyOf(compiler.args1, compiler.size),
+                    Arrays.copyOf(compiler.args2, compiler.size),
+                    compiler.preds.toArray(new IntPredicate[0]),
+                    parser.groupCount,
+                    parser.hasSupplementary);
+        } catch (UnsupportedSyntaxException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Extracts a set of literal strings, at least one of which occurs in
+     * every match of the specified regex string.
+     *
+     * <p>The strings are case-folded by {@link NormalMatcher#fold}, so a
+     * message can only match the regex if its folded form contains one of
+     * them.</p>
+     *
+     * <p><b>Note:</b> The string must already be known to be a valid
+     * {@link java.util.regex.Pattern}.</p>
+     * @param regex the regex string.
+     * @return the literal strings, or an empty list if none could be
+     * determined or the string uses unsupported syntax.
+     */
+    public static List<String> requiredLiterals(String regex) {
+        try {
+            Parser parser = new Parser(regex);
+            Node root = parser.parse();
+            Set<String> required = literals(root, parser.literals).required();
+            return required == null ? List.of() : List.copyOf(required);
+        } catch (UnsupportedSyntaxException e) {
+            return List.of();
+        }
+    }
+
+    @Override
+    public Config.RegexEngine engine() {
+        return Config.RegexEngine.LINEAR;
+    }
+
+    @Override
+    public RegexMatcher matcher(CharSequence input) {
+        return new LinearMatcher(input);
+    }
+
+    // Syntax tree
+
+    private interface Node {}
+
+    private record Char(int cp) implements Node {}
+
+    private record Pred(IntPredicate pred) implements Node {}
+
+    private record Seq(List<Node> nodes) implements Node {}
+
+    private record Alt(List<Node> nodes) implements Node {}
+
+    private record Repeat(Node node, int min, int max, boolean greedy) implements Node {}
+
+    private record Group(Node node, int index) implements Node {}
+
+    private record Assert(int kind) implements Node {}
+
+    /**
+     * @return {@code true} if the node can match the empty string.
+     */
+    private static boolean nullable(Node node) {
+        return switch(node) {
+            case Seq s -> s.nodes().stream().allMatch(LinearRegex::nullable);
+            case Alt a -> a.nodes().stream().anyMatch(LinearRegex::nullable);
+            case Repeat r -> r.min() == 0 || nullable(r.node());
+            case Group g -> nullable(g.node());
+            case Assert ignored -> true;
+            default -> false;
+        };
+    }
+
+    // Required literals
+
+    /**
+     * The maximum number of strings in a set of literals.
+     */
+    private static final int MAX_LITERALS = 16;
+
+    /**
+     * The literal strings of a node, case-folded by {@link NormalMatcher#fold}.
+     * @param exact the set of all strings the node can match, or {@code null}
+     *              if unknown or too large.
+     * @param required a set of non-empty strings, at least one of which occurs
+     *                 in every match of the node, or {@code null} if none.
+     */
+    private record Literals(@Nullable Set<String> exact, @Nullable Set<String> required) {
+        static final Literals UNKNOWN = new Literals(null, null);
+
+        static Literals exact(Set<String> exact) {
+            return new Literals(exact, exact.contains("") ? null : exact);
+        }
+    }
+
+    private static Literals literals(Node node, Map<Node, Integer> folds) {
+        return switch(node) {
+            case Char c -> literal(folds.getOrDefault(c, -1));
+            case Pred p -> literal(folds.getOrDefault(p, -1));
+            case Assert ignored -> Literals.exact(Set.of(""));
+            case Group g -> literals(g.node(), folds);
+            case Seq s -> {
+                // Concatenate runs of exact nodes, keeping the best run or
+                // required set found
+                Set<String> run = Set.of("");
+                Set<String> best = null;
+                boolean allExact = true;
+                for (Node child : s.nodes()) {
+                    Literals lits = literals(child, folds);
+                    if (lits.exact() != null) {
+                        Set<String> product = product(run, lits.exact());
+                        if (product != null) {
+                            run = product;
+                            continue;
+                        }
+                        best = best(best, Literals.exact(run).required());
+                        run = lits.exact();
+                    } else {
+                        best = best(best, Literals.exact(run).required());
+                        best = best(best, lits.required());
+                        run = Set.of("");
+                    }
+                    allExact = false;
+                }
+                if (allExact) yield Literals.exact(run);
+                yield new Literals(null, best(best, Literals.exact(run).required()));
+            }
+            case Alt a -> {
+                Set<String> exact = new HashSet<>();
+                Set<String> required = new HashSet<>();
+                for (Node child : a.nodes()) {
+                    Literals lits = literals(child, folds);
+                    if (exact != null && lits.exact() != null) exact.addAll(lits.exact());
+                    else exact = null;
+                    if (required != null && lits.required() != null) required.addAll(lits.required());
+                    else required = null;
+                }
+                if (exact != null && exact.size() <= MAX_LITERALS) yield Literals.exact(exact);
+                yield new Literals(null,
+                        required != null && required.size() <= MAX_LITERALS ? required : null);
+            }
+            case Repeat r -> {
+                Literals lits = literals(r.node(), folds);
+                if (r.min() == 1 && r.max() == 1) yield lits;
+                if (r.min() >= 1) yield new Literals(null, lits.required());
+                if (r.max() == 1 && lits.exact() != null) {
+                    Set<String> exact = new HashSet<>(lits.exact());
+                    exact.add("");
+                    yield new Literals(exact, null);
+                }
+                yield Literals.UNKNOWN;
+            }
+            default -> Literals.UNKNOWN;
+        };
+    }
+
+    private static Literals literal(int fold) {
+        return fold == -1 ? Literals.UNKNOWN : Literals.exact(Set.of(Character.toString(fold)));
+    }
+
+    /**
+     * @return the set of all concatenations of a string from {@code a} and a
+     * string from {@code b}, or {@code null} if too large.
+     */
+    private static @Nullable Set<String> product(Set<String> a, Set<String> b) {
+        if ((long)a.size() * b.size() > MAX_LITERALS) return null;
+        Set<String> product = new HashSet<>();
+        for (String x : a) {
+            for (String y : b) product.add(x + y);
+        }
+        return product;
+    }
+
+    /**
+     * @return whichever of the required sets is more selective, preferring
+     * longer shortest strings, then fewer strings.
+     */
+    private static @Nullable Set<String> best(@Nullable Set<String> a, @Nullable Set<String> b) {
+        if (a == null) return b;
+        if (b == null) return a;
+        int minA = a.stream().mapToInt(String::length).min().orElse(0);
+        int minB = b.stream().mapToInt(String::length).min().orElse(0);
+        if (minA != minB) return minA > minB ? a : b;
+        return a.size() <= b.size() ? a : b;
+    }
+
+    private static class UnsupportedSyntaxException extends RuntimeException {
+        UnsupportedSyntaxException() {
+            super(null, null, false, false);
+        }
+    }
+
+    // Parser
+
+    /**
+     * Recursive-descent parser for the supported subset of
+     * {@link java.util.regex.Pattern} syntax.
+     */
+    private static class Parser {
+        private static final int CASE_INSENSITIVE = 1;
+        private static final int MULTILINE = 2;
+        private static final int DOTALL = 4;
+        private static final int UNICODE_CASE = 8;
+
+        private final String regex;
+        private int pos = 0;
+        private int flags = 0;
+        private int groupCount = 0;
+        /**
+         * Whether the regex contains a char class that is not restricted to
+         * the BMP, in which case matches are never started within a
+         * surrogate pair. Equivalent of {@code Pattern.hasSupplementary}.
+         */
+        private boolean hasSupplementary = false;
+        /**
+         * Nodes created by {@link Parser#literal}, mapped to the code point to
+         * which {@link NormalMatcher#fold} folds every char they match, or
+         * {@code -1} if unknown.
+         */
+        private final Map<Node, Integer> literals = new IdentityHashMap<>();
+        /**
+         * The subset of {@link Parser#literals} that are matched
+         * case-insensitively by Unicode case.
+         */
+        private final Set<Node> unicodeCaseLiterals =
+                Collections.newSetFromMap(new IdentityHashMap<>());
+
+        Parser(String regex) {
+            this.regex = regex;
+        }
+
+        Node parse() {
+            Node node = parseAlt();
+            if (pos < regex.length()) throw new UnsupportedSyntaxException();
+            return node;
+        }
+
+        private boolean more() {
+            return pos < regex.length();
+        }
+
+        private int peek() {
+            return regex.codePointAt(pos);
+        }
+
+        private int next() {
+            int cp = regex.codePointAt(pos);
+            pos += Character.charCount(cp);
+            return cp;
+        }
+
+        private boolean has(int flag) {
+            return (flags & flag) != 0;
+        }
+
+        private Node parseAlt() {
+            List<Node> alts = new ArrayList<>();
+            alts.add(parseSeq());
+            while (more() && peek() == '|') {
+                pos++;
+                alts.add(parseSeq());
+            }
+            return alts.size() == 1 ? alts.getFirst() : new Alt(alts);
+        }
+
+        private Node parseSeq() {
+            List<Node> nodes = new ArrayList<>();
+            // Consecutive unquantified literals are matched by Pattern as a
+            // single slice, which does not affect hasSupplementary
+            List<Node> run = new ArrayList<>();
+            while (more() && peek() != '|' && peek() != ')') {
+                List<Node> atoms;
+                if (peek() == '\\' && regex.startsWith("\\Q", pos)) {
+                    atoms = parseQuote();
+                } else {
+                    Node atom = parseAtom();
+                    if (atom == null) { // Inline flags only
+                        endRun(run);
+                        continue;
+                    }
+                    atoms = List.of(atom);
+                }
+                for (int i = 0; i < atoms.size(); i++) {
+                    Node atom = atoms.get(i);
+                    // A quantifier applies only to the last quoted char
+                    Node node = i == atoms.size() - 1 ? parseQuantifier(atom) : atom;
+                    if (node != atom) {
+                        endRun(run);
+                        run.add(atom);
+                        endRun(run);
+                    } else if (literals.containsKey(atom)) {
+                        run.add(atom);
+                    } else {
+                        endRun(run);
+                    }
+                    nodes.add(node);
+                }
+            }
+            endRun(run);
+            return nodes.size() == 1 ? nodes.getFirst() : new Seq(nodes);
+        }
+
+        private void endRun(List<Node> run) {
+            if (run.size() == 1 && unicodeCaseLiterals.contains(run.getFirst())) {
+                hasSupplementary = true;
+            }
+            run.clear();
+        }
+
+        private List<Node> parseQuote() {
+            pos += 2;
+            int end = regex.indexOf("\\E", pos);
+            if (end == -1) end = regex.length();
+            List<Node> quoted = new ArrayList<>();
+            while (pos < end) quoted.add(literal(next()));
+            if (pos < regex.length()) pos += 2;
+            return quoted;
+        }
+
+        private Node parseQuantifier(Node atom) {
+            if (!more()) return atom;
+            int min;
+            int max;
+            switch(peek()) {
+                case '*' -> { pos++; min = 0; max = -1; }
+                case '+' -> { pos++; min = 1; max = -1; }
+                case '?' -> { pos++; min = 0; max = 1; }
+                case '{' -> {
+                    pos++;
+                    min = parseInt();
+                    if (more() && peek() == ',') {
+                        pos++;
+                        max = more() && peek() == '}' ? -1 : parseInt();
+                    } else {
+                        max = min;
+                    }
+                    if (!more() || next() != '}') throw new UnsupportedSyntaxException();
+                    if (max != -1 && max < min) throw new UnsupportedSyntaxException();
+                }
+                default -> { return atom; }
+            }
+            if (atom instanceof Assert) throw new UnsupportedSyntaxException();
+            boolean greedy = true;
+            if (more() && peek() == '?') {
+                pos++;
+                greedy = false;
+            } else if (more() && peek() == '+') {
+                throw new UnsupportedSyntaxException(); // Possessive
+            }
+            if (more() && "*+?{".indexOf(peek()) != -1) throw new UnsupportedSyntaxException();
+            // A backtracking engine ends a loop after an empty iteration,
+            // which cannot be simulated without backtracking
+            if (max != 1 && nullable(atom)) {
+                throw new UnsupportedSyntaxException();
+            }
+            return new Repeat(atom, min, max, greedy);
+        }
+
+        private int parseInt() {
+            int start = pos;
+            while (more() && peek() >= '0' && peek() <= '9') pos++;
+            if (start == pos || pos - start > 6) throw new UnsupportedSyntaxException();
+            return Integer.parseInt(regex, start, pos, 10);
+        }
+
+        private @Nullable Node parseAtom() {
+            int cp = next();
+            return switch(cp) {
+                case '(' -> parseGroup();
+                case '[' -> parseClass();
+                case '.' -> new Pred(dot());
+                case '^' -> new Assert(has(MULTILINE) ? CARET : BEGIN);
+                case '$' -> new Assert(has(MULTILINE) ? DOLLAR_MULTILINE : DOLLAR);
+                case '\\' -> parseEscape();
+                case '*', '+', '?', '{' -> throw new UnsupportedSyntaxException();
+                default -> literal(cp);
+            };
+        }
+
+        private @Nullable Node parseGroup() {
+            int savedFlags = flags;
+            int index = -1;
+            if (more() && peek() == '?') {
+                pos++;
+                if (!more()) throw new UnsupportedSyntaxException();
+                int cp = next();
+                if (cp == ':') {
+                    // Non-capturing group
+                } else if (cp == '<' && more() && Character.isLetter(peek())) {
+                    // Named capturing group
+                    while (more() && peek() != '>') pos++;
+                    if (!more()) throw new UnsupportedSyntaxException();
+                    pos++;
+                    index = ++groupCount;
+                } else {
+                    // Inline flags, either (?flags) or (?flags:X)
+                    pos--;
+                    parseFlags();
+                    if (!more()) throw new UnsupportedSyntaxException();
+                    int end = next();
+                    if (end == ')') return null; // Flags apply until end of enclosing group
+                    if (end != ':') throw new UnsupportedSyntaxException();
+                }
+            } else {
+                index = ++groupCount;
+            }
+            Node node = parseAlt();
+            if (!more() || next() != ')') throw new UnsupportedSyntaxException();
+            flags = savedFlags;
+            return index == -1 ? node : new Group(node, index);
+        }
+
+        private void parseFlags() {
+            boolean enable = true;
+            while (more()) {
+                int cp = peek();
+                int flag = switch(cp) {
+                    case 'i' -> CASE_INSENSITIVE;
+                    case 'm' -> MULTILINE;
+                    case 's' -> DOTALL;
+                    case 'u' -> UNICODE_CASE;
+                    case '-' -> -1;
+                    case ')', ':' -> 0;
+                    default -> throw new UnsupportedSyntaxException();
+                };
+                if (flag == 0) return;
+                pos++;
+                if (flag == -1) {
+                    enable = false;
+                } else if (enable) {
+                    flags |= flag;
+                } else {
+                    flags &= ~flag;
+                }
+            }
+        }
+
+        private Node parseEscape() {
+            if (!more()) throw new UnsupportedSyntaxException();
+            int cp = peek();
+            switch(cp) {
+                case 'b' -> {
+                    pos++;
+                    if (more() && peek() == '{') throw new UnsupportedSyntaxException();
+                    return new Assert(WORD_BOUNDARY);
+                }
+                case 'B' -> { pos++; return new Assert(NOT_WORD_BOUNDARY); }
+                case 'A' -> { pos++; return new Assert(BEGIN); }
+                case 'z' -> { pos++; return new Assert(END); }
+                case 'Z' -> { pos++; return new Assert(DOLLAR); }
+            }
+            IntPredicate pred = predefinedClass(cp);
+            if (pred != null) {
+                pos++;
+                return new Pred(pred);
+            }
+            return literal(escapedChar());
+        }
+
+        /**
+         * Parses an escaped char, with the cursor positioned after the
+         * backslash.
+         */
+        private int escapedChar() {
+            int cp = next();
+            switch(cp) {
+                case 't': return '\t';
+                case 'n': return '\n';
+                case 'r': return '\r';
+                case 'f': return '\f';
+                case 'a': return '\u0007';
+                case 'e': return '\u001B';
+                case '0': {
+                    int start = pos;
+                    int value = 0;
+                    while (more() && pos - start < 3 && peek() >= '0' && peek() <= '7'
+                            && value * 8 + (peek() - '0') <= 0377) {
+                        value = value * 8 + (next() - '0');
+                    }
+                    if (start == pos) throw new UnsupportedSyntaxException();
+                    return value;
+                }
+                case 'x': {
+                    if (more() && peek() == '{') {
+                        pos++;
+                        int end = regex.indexOf('}', pos);
+                        if (end == -1) throw new UnsupportedSyntaxException();
+                        int value = parseHex(pos, end);
+                        pos = end + 1;
+                        return value;
+                    }
+                    int value = parseHex(pos, pos + 2);
+                    pos += 2;
+                    return value;
+                }
+                case 'u': {
+                    int value = parseHex(pos, pos + 4);
+                    pos += 4;
+                    // Combine escaped surrogate pairs
+                    if (Character.isHighSurrogate((char)value)
+                            && regex.startsWith("\\u", pos) && pos + 6 <= regex.length()) {
+                        int low = parseHex(pos + 2, pos + 6);
+                        if (Character.isLowSurrogate((char)low)) {
+                            pos += 6;
+                            return Character.toCodePoint((char)value, (char)low);
+                        }
+                    }
+                    return value;
+                }
+                case 'c': {
+                    if (!more()) throw new UnsupportedSyntaxException();
+                    return next() ^ 64;
+                }
+                default: {
+                    // Other letters and digits are either unsupported
+                    // constructs or invalid, all other chars are literal
+                    if (cp < 128 && Character.isLetterOrDigit(cp)) {
+                        throw new UnsupportedSyntaxException();
+                    }
+                    return cp;
+                }
+            }
+        }
+
+        private int parseHex(int start, int end) {
+            if (end > regex.length() || end <= start || end - start > 6) {
+                throw new UnsupportedSyntaxException();
+            }
+            int value = 0;
+            for (int i = start; i < end; i++) {
+                int digit = Character.digit(regex.charAt(i), 16);
+                if (digit == -1) throw new UnsupportedSyntaxException();
+                value = value * 16 + digit;
+            }
+            if (value > Character.MAX_CODE_POINT) throw new UnsupportedSyntaxException();
+            return value;
+        }
+
+        private Node parseClass() {
+            boolean negate = false;
+            if (more() && peek() == '^') {
+                pos++;
+                negate = true;
+            }
+            boolean[] bits = new boolean[256];
+            boolean anyBits = false;
+            List<IntPredicate> preds = new ArrayList<>();
+            boolean first = true;
+            while (true) {
+                if (!more()) throw new UnsupportedSyntaxException();
+                int cp = next();
+                if (cp == ']' && !first) break;
+                first = false;
+                if (cp == '[' || cp == ']') throw new UnsupportedSyntaxException();
+                if (cp == '&' && more() && peek() == '&') throw new UnsupportedSyntaxException();
+                if (cp == '\\') {
+                    if (!more()) throw new UnsupportedSyntaxException();
+                    IntPredicate pred = predefinedClass(peek());
+                    if (pred != null) {
+                        pos++;
+                        preds.add(pred);
+                        continue;
+                    }
+                    if (peek() == 'Q' || peek() == 'E') throw new UnsupportedSyntaxException();
+                    cp = escapedChar();
+                }
+                // Range
+                if (more() && peek() == '-' && pos + 1 < regex.length()
+                        && regex.charAt(pos + 1) != ']') {
+                    pos++;
+                    int end = next();
+                    if (end == '[') throw new UnsupportedSyntaxException();
+                    if (end == '\\') {
+                        if (!more() || predefinedClass(peek()) != null
+                                || peek() == 'Q' || peek() == 'E') {
+                            throw new UnsupportedSyntaxException();
+                        }
+                        end = escapedChar();
+                    }
+                    if (end < cp) throw new UnsupportedSyntaxException();
+                    preds.add(range(cp, end));
+                    continue;
+                }
+                // Single char
+                IntPredicate single = bitsOrSingle(bits, cp);
+                if (single == null) {
+                    anyBits = true;
+                } else {
+                    preds.add(single);
+                }
+            }
+            if (anyBits) preds.add((c) -> c < 256 && bits[c]);
+            IntPredicate[] items = preds.toArray(new IntPredicate[0]);
+            IntPredicate union = (c) -> {
+                for (IntPredicate item : items) {
+                    if (item.test(c)) return true;
+                }
+                return false;
+            };
+            if (negate) hasSupplementary = true;
+            return new Pred(negate ? union.negate() : union);
+        }
+
+        /**
+         * Equivalent of {@code Pattern.bitsOrSingle}, adds the char to the
+         * bitset if possible, else returns a predicate.
+         * @return {@code null} if the char was added to the bitset, else the
+         * predicate matching the char.
+         */
+        private @Nullable IntPredicate bitsOrSingle(boolean[] bits, int cp) {
+            boolean ci = has(CASE_INSENSITIVE);
+            boolean uc = has(UNICODE_CASE);
+            if (cp < 256 && !(ci && uc && (cp == 0xff || cp == 0xb5
+                    || cp == 0x49 || cp == 0x69 || cp == 0x53 || cp == 0x73
+                    || cp == 0x4b || cp == 0x6b || cp == 0xc5 || cp == 0xe5))) {
+                if (ci) {
+                    if (cp < 128) {
+                        bits[asciiUpper(cp)] = true;
+                        bits[asciiLower(cp)] = true;
+                    } else if (uc) {
+                        int lower = Character.toLowerCase(cp);
+                        int upper = Character.toUpperCase(cp);
+                        if (lower < 256) bits[lower] = true;
+                        if (upper < 256) bits[upper] = true;
+                    }
+                }
+                bits[cp] = true;
+                return null;
+            }
+            IntPredicate single = single(cp);
+            if (single == null) return (c) -> c == cp;
+            if (ci && uc) hasSupplementary = true;
+            return single;
+        }
+
+        /**
+         * Equivalent of {@code Pattern.range} for a completed range.
+         */
+        private IntPredicate range(int lower, int upper) {
+            if (upper >= Character.MIN_SURROGATE
+                    && !(lower > Character.MAX_SURROGATE && upper <= 0xFFFF)) {
+                hasSupplementary = true;
+            }
+            if (has(CASE_INSENSITIVE)) {
+                hasSupplementary = true;
+                if (has(UNICODE_CASE)) {
+                    return (c) -> {
+                        if (c >= lower && c <= upper) return true;
+                        int up = Character.toUpperCase(c);
+                        int low = Character.toLowerCase(up);
+                        return (up >= lower && up <= upper) || (low >= lower && low <= upper);
+                    };
+                }
+                return (c) -> (c >= lower && c <= upper) || (c < 128
+                        && ((asciiUpper(c) >= lower && asciiUpper(c) <= upper)
+                        || (asciiLower(c) >= lower && asciiLower(c) <= upper)));
+            }
+            return (c) -> c >= lower && c <= upper;
+        }
+
+        /**
+         * Creates a node to match a literal code point, respecting the case
+         * flags.
+         */
+        private Node literal(int cp) {
+            IntPredicate single = single(cp);
+            Node node = single == null ? new Char(cp) : new Pred(single);
+            int fold = -1;
+            if (single == null) {
+                fold = NormalMatcher.foldCodePoint(cp);
+            } else if (!has(UNICODE_CASE)) {
+                fold = asciiLower(cp);
+            } else {
+                unicodeCaseLiterals.add(node);
+                // Matches only code points with the same simple case folding
+                int lower = Character.toLowerCase(Character.toUpperCase(cp));
+                if (cp <= 0xFFFF && lower <= 0xFFFF
+                        && NormalMatcher.foldCodePoint(lower) == lower) {
+                    fold = lower;
+                }
+            }
+            if (cp <= 0xFFFF && Character.isSurrogate((char)cp)) fold = -1;
+            literals.put(node, fold);
+            return node;
+        }
+
+        /**
+         * Equivalent of {@code Pattern.single}, or {@code null} if an exact
+         * match is required.
+         */
+        private @Nullable IntPredicate single(int cp) {
+            if (cp > 0xFFFF) hasSupplementary = true;
+            if (has(CASE_INSENSITIVE)) {
+                if (has(UNICODE_CASE)) {
+                    int upper = Character.toUpperCase(cp);
+                    int lower = Character.toLowerCase(upper);
+                    if (upper != lower) {
+                        return (c) -> c == lower
+                                || lower == Character.toLowerCase(Character.toUpperCase(c));
+                    }
+                } else if (cp < 128 && Character.isLetter(cp)) {
+                    int lower = asciiLower(cp);
+                    int upper = asciiUpper(cp);
+                    return (c) -> c == lower || c == upper;
+                }
+            }
+            return null;
+        }
+
+        private IntPredicate dot() {
+            if (has(DOTALL)) return (c) -> true;
+            return (c) -> c != '\n' && c != '\r' && (c | 1) != '\u2029' && c != '\u0085';
+        }
+
+        private @Nullable IntPredicate predefinedClass(int cp) {
+            return switch(cp) {
+                case 'd' -> LinearRegex::isDigit;
+                case 'D' -> { hasSupplementary = true; yield (c) -> !isDigit(c); }
+                case 's' -> LinearRegex::isSpace;
+                case 'S' -> { hasSupplementary = true; yield (c) -> !isSpace(c); }
+                case 'w' -> LinearRegex::isWord;
+                case 'W' -> { hasSupplementary = true; yield (c) -> !isWord(c); }
+                default -> null;
+            };
+        }
+
+        private static int asciiLower(int c) {
+            return c >= 'A' && c <= 'Z' ? c + 32 : c;
+        }
+
+        private static int asciiUpper(int c) {
+            return c >= 'a' && c <= 'z' ? c - 32 : c;
+        }
+    }
+
+    private static boolean isDigit(int c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isSpace(int c) {
+        return c == ' ' || (c >= '\t' && c <= '\r');
+    }
+
+    private static boolean isWord(int c) {
+        return c < 128 && (c == '_' || (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z')
+                || (c >= '0' && c <= '9'));
+    }
+
+    // Compiler
+
+    private static class Compiler {
+        int[] ops = new int[16];
+        int[] args1 = new int[16];
+        int[] args2 = new int[16];
+        int size = 0;
+        final List<IntPredicate> preds = new ArrayList<>();
+
+        int emit(int op, int arg1, int arg2) {
+            if (size == MAX_PROGRAM_SIZE) throw new UnsupportedSyntaxException();
+            if (size == ops.length) {
+                ops = Arrays.copyOf(ops, size * 2);
+                args1 = Arrays.copyOf(args1, size * 2);
+                args2 = Arrays.copyOf(args2, size * 2);
+            }
+            ops[size] = op;
+            args1[size] = arg1;
+            args2[size] = arg2;
+            return size++;
+        }
+
+        void compile(Node node) {
+            switch(node) {
+                case Char c -> emit(CHAR, c.cp(), 0);
+                case Pred p -> {
+                    emit(PRED, preds.size(), 0);
+                    preds.add(p.pred());
+                }
+                case Seq s -> s.nodes().forEach(this::compile);
+                case Alt a -> {
+                    List<Integer> jumps = new ArrayList<>();
+                    for (int i = 0; i < a.nodes().size(); i++) {
+                        if (i < a.nodes().size() - 1) {
+                            int split = emit(SPLIT, size + 1, -1);
+                            compile(a.nodes().get(i));
+                            jumps.add(emit(JMP, -1, 0));
+                            args2[split] = size;
+                        } else {
+                            compile(a.nodes().get(i));
+                        }
+                    }
+                    for (int jump : jumps) args1[jump] = size;
+                }
+                case Group g -> {
+                    emit(SAVE, g.index() * 2, 0);
+                    compile(g.node());
+                    emit(SAVE, g.index() * 2 + 1, 0);
+                }
+                case Assert a -> emit(ASSERT, a.kind(), 0);
+                case Repeat r -> compileRepeat(r);
+                default -> throw new UnsupportedSyntaxException();
+            }
+        }
+
+        private void compileRepeat(Repeat r) {
+            if (r.max() == -1) {
+                for (int i = 0; i < r.min() - 1; i++) compile(r.node());
+                if (r.min() == 0) {
+                    // x*
+                    int split = emit(SPLIT, -1, -1);
+                    compile(r.node());
+                    emit(JMP, split, 0);
+                    setSplit(split, split + 1, size, r.greedy());
+                } else {
+                    // x+
+                    int start = size;
+                    compile(r.node());
+                    int split = emit(SPLIT, -1, -1);
+                    setSplit(split, start, size, r.greedy());
+                }
+            } else {
+                for (int i = 0; i < r.min(); i++) compile(r.node());
+                // Nested optional copies, x{0,n} as (x(x(x)?)?)?
+                List<Integer> splits = new ArrayList<>();
+                for (int i = r.min(); i < r.max(); i++) {
+                    splits.add(emit(SPLIT, -1, -1));
+                    compile(r.node());
+                }
+                for (int split : splits) setSplit(split, split + 1, size, r.greedy());
+            }
+        }
+
+        private void setSplit(int split, int body, int exit, boolean greedy) {
+            args1[split] = greedy ? body : exit;
+            args2[split] = greedy ? exit : body;
+        }
+    }
+
+    // Matching
+
+    /**
+     * Ordered set of threads for a single input position.
+     */
+    private static class ThreadList {
+        final int[] pcs;
+        final int[][] caps;
+        final int[] visited;
+        int size = 0;
+        int stamp = 1;
+
+        ThreadList(int programSize) {
+            this.pcs = new int[programSize];
+            this.caps = new int[programSize][];
+            this.visited = new int[programSize];
+        }
+
+        void clear() {
+            size = 0;
+            stamp++;
+        }
+    }
+
+    private class LinearMatcher implements RegexMatcher {
+        private final CharSequence input;
+        private final int length;
+        private ThreadList clist;
+        private ThreadList nlist;
+        private ThreadList nlist2;
+        private final int[] stackPcs;
+        private final int[][] stackCaps;
+        private int[] groups;
+        private int first = -1;
+        private int last = 0;
+
+        LinearMatcher(CharSequence input) {
+            this.input = input;
+            this.length = input.length();
+            this.clist = new ThreadList(ops.length);
+            this.nlist = new ThreadList(ops.length);
+            this.nlist2 = new ThreadList(ops.length);
+            // Each instruction is visited at most once per call to
+            // addThread, and pushes at most two entries
+            this.stackPcs = new int[ops.length * 2 + 1];
+            this.stackCaps = new int[ops.length * 2 + 1][];
+            this.groups = new int[(groupCount + 1) * 2];
+            Arrays.fill(groups, -1);
+        }
+
+        @Override
+        public boolean find() {
+            int next = last;
+            if (next == first) next++;
+            if (next > length) {
+                Arrays.fill(groups, -1);
+                first = -1;
+                return false;
+            }
+            return search(next);
+        }
+
+        @Override
+        public boolean find(int start) {
+            if (start < 0 || start > length) {
+                throw new IndexOutOfBoundsException("Illegal start index");
+            }
+            first = -1;
+            last = 0;
+            return search(start);
+        }
+
+        private boolean search(int from) {
+            int[] matched = null;
+            clist.clear();
+            nlist.clear();
+            nlist2.clear();
+            int pos = from;
+            while (true) {
+                // Start a new thread at this position, with lowest priority
+                if (matched == null && (pos == from || canStartAt(pos))) {
+                    int[] caps = new int[groups.length];
+                    Arrays.fill(caps, -1);
+                    addThread(clist, 0, pos, caps);
+                }
+                if (matched != null && clist.size == 0 && nlist.size == 0 && nlist2.size == 0) {
+                    break;
+                }
+
+                // Step all threads over the code point at this position.
+                // Threads consuming a surrogate pair skip the next position.
+                int cp = pos < length ? Character.codePointAt(input, pos) : -1;
+                ThreadList target = cp > 0xFFFF ? nlist2 : nlist;
+                int next = pos + (cp > 0xFFFF ? 2 : 1);
+                for (int i = 0; i < clist.size; i++) {
+                    int pc = clist.pcs[i];
+                    switch(ops[pc]) {
+                        case CHAR -> {
+                            if (cp == args1[pc]) addThread(target, pc + 1, next, clist.caps[i]);
+                        }
+                        case PRED -> {
+                            if (cp != -1 && preds[args1[pc]].test(cp)) {
+                                addThread(target, pc + 1, next, clist.caps[i]);
+                            }
+                        }
+                        case MATCH -> {
+                            // Cut off all lower-priority threads
+                            matched = clist.caps[i];
+                            i = clist.size;
+                        }
+                    }
+                }
+                if (cp == -1) break;
+
+                ThreadList temp = clist;
+                clist = nlist;
+                nlist = nlist2;
+                nlist2 = temp;
+                nlist2.clear();
+                pos++;
+            }
+            if (matched == null) {
+                Arrays.fill(groups, -1);
+                first = -1;
+                return false;
+            }
+            groups = matched;
+            first = groups[0];
+            last = groups[1];
+            return true;
+        }
+
+        /**
+         * Equivalent of the start node of a {@link java.util.regex.Pattern},
+         * which only skips the second char of a surrogate pair if the
+         * pattern contains supplementary chars.
+         */
+        private boolean canStartAt(int pos) {
+            return !hasSupplementary || pos == 0 || pos == length
+                    || !Character.isLowSurrogate(input.charAt(pos))
+                    || !Character.isHighSurrogate(input.charAt(pos - 1));
+        }
+
+        /**
+         * Adds the thread to the list, following all non-consuming
+         * instructions in priority order.
+         */
+        private void addThread(ThreadList list, int pc, int pos, int[] caps) {
+            int top = 0;
+            stackPcs[top] = pc;
+            stackCaps[top++] = caps;
+            while (top > 0) {
+                pc = stackPcs[--top];
+                caps = stackCaps[top];
+                stackCaps[top] = null;
+                if (list.visited[pc] == list.stamp) continue;
+                list.visited[pc] = list.stamp;
+                switch(ops[pc]) {
+                    case JMP -> {
+                        stackPcs[top] = args1[pc];
+                        stackCaps[top++] = caps;
+                    }
+                    case SPLIT -> {
+                        // Push lower priority branch first
+                        stackPcs[top] = args2[pc];
+                        stackCaps[top++] = caps;
+                        stackPcs[top] = args1[pc];
+                        stackCaps[top++] = caps;
+                    }
+                    case SAVE -> {
+                        int[] newCaps = caps.clone();
+                        newCaps[args1[pc]] = pos;
+                        stackPcs[top] = pc + 1;
+                        stackCaps[top++] = newCaps;
+                    }
+                    case ASSERT -> {
+                        if (checkAssert(args1[pc], pos)) {
+                            stackPcs[top] = pc + 1;
+                            stackCaps[top++] = caps;
+                        }
+                    }
+                    default -> {
+                        list.pcs[list.size] = pc;
+                        list.caps[list.size] = caps;
+                        list.size++;
+                    }
+                }
+            }
+        }
+
+        private boolean checkAssert(int kind, int pos) {
+            return switch(kind) {
+                case BEGIN -> pos == 0;
+                case END -> pos == length;
+                case CARET -> {
+                    if (pos == length) yield false;
+                    if (pos == 0) yield true;
+                    char c = input.charAt(pos - 1);
+                    if (c != '\n' && c != '\r' && (c | 1) != '\u2029' && c != '\u0085') {
+                        yield false;
+                    }
+                    yield !(c == '\r' && input.charAt(pos) == '\n');
+                }
+                case DOLLAR, DOLLAR_MULTILINE -> checkDollar(pos, kind == DOLLAR_MULTILINE);
+                case WORD_BOUNDARY -> isBoundary(pos);
+                case NOT_WORD_BOUNDARY -> !isBoundary(pos);
+                default -> false;
+            };
+        }
+
+        /**
+         * Equivalent of {@code Pattern.Dollar}.
+         */
+        private boolean checkDollar(int pos, boolean multiline) {
+            if (!multiline) {
+                if (pos < length - 2) return false;
+                if (pos == length - 2) {
+                    if (input.charAt(pos) != '\r' || input.charAt(pos + 1) != '\n') {
+                        return false;
+                    }
+                }
+            }
+            if (pos < length) {
+                char c = input.charAt(pos);
+                if (c == '\n') {
+                    return !(pos > 0 && input.charAt(pos - 1) == '\r');
+                } else {
+                    return c == '\r' || c == '\u0085' || (c | 1) == '\u2029';
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Equivalent of {@code Pattern.Bound}.
+         */
+        private boolean isBoundary(int pos) {
+            boolean left = false;
+            if (pos > 0) {
+                int c = Character.codePointBefore(input, pos);
+                left = isWord(c) || (Character.getType(c) == Character.NON_SPACING_MARK
+                        && hasBaseCharacter(pos - 1));
+            }
+            boolean right = false;
+            if (pos < length) {
+                int c = Character.codePointAt(input, pos);
+                right = isWord(c) || (Character.getType(c) == Character.NON_SPACING_MARK
+                        && hasBaseCharacter(pos));
+            }
+            return left ^ right;
+        }
+
+        private boolean hasBaseCharacter(int i) {
+            for (int x = i; x >= 0; x--) {
+                int c = Character.codePointAt(input, x);
+                if (Character.isLetterOrDigit(c)) return true;
+                if (Character.getType(c) == Character.NON_SPACING_MARK) continue;
+                return false;
+            }
+            return false;
+        }
+
+        // MatchResult
+
+        private void checkMatch() {
+            if (first < 0) throw new IllegalStateException("No match found");
+        }
+
+        private void checkGroup(int group) {
+            if (group < 0 || group > groupCount) {
+                throw new IndexOutOfBoundsException("No group " + group);
+            }
+        }
+
+        @Override
+        public int start() {
+            return start(0);
+        }
+
+        @Override
+        public int start(int group) {
+            checkMatch();
+            checkGroup(group);
+            return groups[group * 2];
+        }
+
+        @Override
+        public int end() {
+            return end(0);
+        }
+
+        @Override
+        public int end(int group) {
+            checkMatch();
+            checkGroup(group);
+            return groups[group * 2 + 1];
+        }
+
+        @Override
+        public String group() {
+            return group(0);
+        }
+
+        @Override
+        public @Nullable String group(int group) {
+            checkMatch();
+            checkGroup(group);
+            int start = groups[group * 2];
+            int end = groups[group * 2 + 1];
+            if (start == -1 || end == -1) return null;
+            return input.subSequence(start, end).toString();
+        }
+
+        @Override
+        public int groupCount() {
+            return groupCount;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2025 TerminalMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.terminalmc.chatnotify.match;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Index of the required literals of a list of regex triggers, answering which
+ * of the triggers could possibly match a message in a single pass.
+ *
+ * <p>A trigger with no required literals is always a candidate.</p>
+ */
+public class LiteralIndex {
+    /**
+     * Automaton over the required literals of all triggers.
+     */
+    private final TriggerAutomaton automaton;
+
+    /**
+     * The {@link CompiledTrigger#id} of the trigger of each literal in
+     * {@link LiteralIndex#automaton}.
+     */
+    private final int[] owners;
+
+    /**
+     * Whether each trigger is a candidate for every message.
+     */
+    private final boolean[] unconditional;
+
+    /**
+     * Builds an index from the specified triggers.
+     * @param triggers the regex triggers, indexed by {@link CompiledTrigger#id}.
+     */
+    public LiteralIndex(List<CompiledTrigger> triggers) {
+        List<String> literals = new ArrayList<>();
+        List<Integer> owners = new ArrayList<>();
+        this.unconditional = new boolean[triggers.size()];
+        for (int i = 0; i < triggers.size(); i++) {
+            List<String> required = triggers.get(i).requiredLiterals;
+            if (required.isEmpty()) {
+                unconditional[i] = true;
+            } else {
+                for (String literal : required) {
+                    literals.add(literal);
+                    owners.add(i);
+                }
+            }
+        }
+        this.automaton = new TriggerAutomaton(literals);
+        this.owners = owners.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Finds all triggers that could possibly match the specified string.
+     * @param foldedStr the string to search, case-folded by
+     *                  {@link NormalMatcher#fold}.
+     * @return an array indexed by {@link CompiledTrigger#id}, {@code true} if
+     * the trigger could match.
+     */
+    public boolean[] search(String foldedStr) {
+        boolean[] candidates = unconditional.clone();
+        if (automaton.size() == 0) return candidates;
+        boolean[] hits = automaton.search(foldedStr);
+        for (int i = 0; i < hits.length; i++) {
+            if (hits[i]) candidates[owners[i]] = true;
+        }
+        return candidates;
+    }
+}
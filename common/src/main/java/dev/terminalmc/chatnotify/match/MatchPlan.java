@@ -0,0 +1,196 @@
+/*
+ * Copyright 2025 TerminalMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.terminalmc.chatnotify.match;
+
+import dev.terminalmc.chatnotify.config.Config;
+import dev.terminalmc.chatnotify.config.Notification;
+import net.minecraft.sounds.SoundSource;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Immutable snapshot of the {@link Config}, containing everything required by
+ * the message processing algorithm in pre-processed form.
+ *
+ * <p>A new instance is compiled whenever the {@link Config} is saved, and is
+ * published via a single atomic reference. Message processing reads only the
+ * published instance, so it never observes a partially-edited config and is
+ * never blocked by a rebuild.</p>
+ */
+public class MatchPlan {
+    private static final AtomicReference<MatchPlan> current = new AtomicReference<>();
+
+    // Global options
+
+    public final Config.DetectionMode detectionMode;
+    public final boolean debug;
+    public final Config.NotifMode notifMode;
+    public final boolean restyleAllInstances;
+    public final Config.SenderDetectionMode senderDetectionMode;
+    public final Config.SendMode sendMode;
+    public final int sendInterval;
+    public final int sendBurst;
+    public final Config.RegexEngine regexEngine;
+    /**
+     * {@link Config#regexBudget}, in nanoseconds.
+     */
+    public final long regexBudgetNanos;
+    public final SoundSource soundSource;
+
+    // Notifications
+
+    /**
+     * The compiled {@link Notification} list, in priority order.
+     */
+    public final List<CompiledNotif> notifs;
+
+    /**
+     * The compiled username {@link Notification}.
+     */
+    public final CompiledNotif userNotif;
+
+    /**
+     * All normal triggers and exclusion triggers of all notifications,
+     * indexed by {@link CompiledTrigger#id}.
+     */
+    public final List<CompiledTrigger> normalTriggers;
+
+    /**
+     * Index of the folded strings of {@link MatchPlan#normalTriggers}.
+     */
+    public final NormalIndex normalIndex;
+
+    /**
+     * All valid regex triggers and exclusion triggers of all notifications,
+     * indexed by {@link CompiledTrigger#id}.
+     */
+    public final List<CompiledTrigger> regexTriggers;
+
+    /**
+     * Index of the required literals of {@link MatchPlan#regexTriggers}.
+     */
+    public final LiteralIndex regexLiteralIndex;
+
+    private MatchPlan(Config config, @Nullable MatchPlan previous) {
+        this.detectionMode = config.detectionMode;
+        this.debug = config.debugMode.equals(Config.DebugMode.ALL);
+        this.notifMode = config.notifMode;
+        this.restyleAllInstances = config.restyleMode.equals(Config.RestyleMode.ALL_INSTANCES);
+        this.senderDetectionMode = config.senderDetectionMode;
+        this.sendMode = config.sendMode;
+        this.sendInterval = config.sendInterval;
+        this.sendBurst = config.sendBurst;
+        this.regexEngine = config.regexEngine;
+        this.regexBudgetNanos = config.regexBudget * 1000L;
+        this.soundSource = config.soundSource;
+
+        // Ensure the username notification is valid before compiling
+        config.getUserNotif();
+        List<Notification> source = config.getNotifs();
+
+        // Pair notifications with their previous compilation, if compatible
+        Map<String, CompiledNotif> previousNotifs = new HashMap<>();
+        if (previous != null && previous.regexEngine == regexEngine) {
+            for (CompiledNotif notif : previous.notifs) {
+                previousNotifs.put(notif.id, notif);
+            }
+        }
+
+        List<CompiledNotif> notifs = new ArrayList<>(source.size());
+        List<CompiledTrigger> normalTriggers = new ArrayList<>();
+        List<CompiledTrigger> regexTriggers = new ArrayList<>();
+        for (int i = 0; i < source.size(); i++) {
+            Notification notif = source.get(i);
+            notifs.add(CompiledNotif.of(notif, i, config.checkOwnMessages, regexEngine,
+                    previousNotifs.get(notif.getId()), normalTriggers, regexTriggers));
+        }
+        this.notifs = List.copyOf(notifs);
+        this.userNotif = this.notifs.getFirst();
+        this.normalTriggers = List.copyOf(normalTriggers);
+        this.normalIndex = new NormalIndex(this.normalTriggers);
+        this.regexTriggers = List.copyOf(regexTriggers);
+        this.regexLiteralIndex = new LiteralIndex(this.regexTriggers);
+    }
+
+    /**
+     * Compiles a new {@link MatchPlan} from the current state of the specified
+     * {@link Config}.
+     *
+     * <p><b>Note:</b> Reads the mutable {@link Config}, so must be invoked on
+     * the thread that edits it.</p>
+     */
+    public static MatchPlan compile(Config config) {
+        return new MatchPlan(config, null);
+    }
+
+    /**
+     * Compiles a new {@link MatchPlan} from the current state of the specified
+     * {@link Config}, only recompiling the patterns of triggers and style 
+     * targets that differ from the previous {@link MatchPlan}.
+     *
+     * <p>Notifications are paired with their previous compilation by
+     * {@link Notification#getId}, and triggers by index.</p>
+     *
+     * <p><b>Note:</b> Reads the mutable {@link Config}, so must be invoked on
+     * the thread that edits it.</p>
+     */
+    public static MatchPlan compile(Config config, @Nullable MatchPlan previous) {
+        return new MatchPlan(config, previous);
+    }
+
+    /**
+     * Compiles and publishes a new {@link MatchPlan} from the current state of
+     * the specified {@link Config}.
+     */
+    public static void rebuild(Config config) {
+        publish(compile(config, current.get()));
+    }
+
+    /**
+     * Publishes the specified {@link MatchPlan}, replacing the current one.
+     */
+    public static void publish(MatchPlan plan) {
+        current.set(plan);
+    }
+
+    /**
+     * @return the most recently published {@link MatchPlan}, or {@code null}
+     * if none has been published. Never reads the {@link Config}, so may be
+     * invoked on any thread.
+     */
+    public static @Nullable MatchPlan getPublished() {
+        return current.get();
+    }
+
+    /**
+     * @return the most recently published {@link MatchPlan}, compiling one
+     * from the current {@link Config} if none has been published.
+     */
+    public static MatchPlan get() {
+        MatchPlan plan = current.get();
+        if (plan == null) {
+            plan = compile(Config.get());
+            if (!current.compareAndSet(null, plan)) plan = current.get();
+        }
+        return plan;
+    }
+}
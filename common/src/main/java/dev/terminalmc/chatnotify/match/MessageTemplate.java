@@ -0,0 +1,134 @@
+/*
+ * Copyright 2025 TerminalMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.terminalmc.chatnotify.match;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A custom message string, pre-parsed into literal segments and capturing
+ * group references of the form {@code (n)}.
+ *
+ * <p>Substitution is a single append pass over the segments, so no regex work
+ * is required at activation time.</p>
+ */
+public class MessageTemplate {
+    /**
+     * The maximum number of digits in a group reference.
+     */
+    private static final int MAX_GROUP_DIGITS = 9;
+
+    /**
+     * The source string.
+     */
+    public final String string;
+
+    /**
+     * The literal segments, one more than {@link MessageTemplate#groups}.
+     */
+    private final String[] literals;
+
+    /**
+     * The group index of each reference, each preceded by the literal segment 
+     * of the same index.
+     */
+    private final int[] groups;
+
+    private MessageTemplate(String string, String[] literals, int[] groups) {
+        this.string = string;
+        this.literals = literals;
+        this.groups = groups;
+    }
+
+    /**
+     * Parses the specified string.
+     */
+    public static MessageTemplate of(String string) {
+        List<String> literals = new ArrayList<>();
+        List<Integer> groups = new ArrayList<>();
+        int segStart = 0;
+        int i = string.indexOf('(');
+        while (i != -1) {
+            int end = parseGroupRef(string, i);
+            if (end == -1) {
+                i = string.indexOf('(', i + 1);
+            } else {
+                literals.add(string.substring(segStart, i));
+                groups.add(Integer.parseInt(string, i + 1, end - 1, 10));
+                segStart = end;
+                i = string.indexOf('(', end);
+            }
+        }
+        literals.add(string.substring(segStart));
+        return new MessageTemplate(string, literals.toArray(new String[0]),
+                groups.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    /**
+     * Parses a group reference, a decimal number without leading zeros
+     * enclosed in parentheses.
+     * @param str the string to parse.
+     * @param start the index of the opening parenthesis.
+     * @return the index after the closing parenthesis, or {@code -1} if there
+     * is no group reference at {@code start}.
+     */
+    private static int parseGroupRef(String str, int start) {
+        int i = start + 1;
+        int digitsEnd = i;
+        while (digitsEnd < str.length() && digitsEnd - i < MAX_GROUP_DIGITS
+                && str.charAt(digitsEnd) >= '0' && str.charAt(digitsEnd) <= '9') {
+            digitsEnd++;
+        }
+        int numDigits = digitsEnd - i;
+        if (numDigits == 0 || (numDigits > 1 && str.charAt(i) == '0')) return -1;
+        if (digitsEnd == str.length() || str.charAt(digitsEnd) != ')') return -1;
+        return digitsEnd + 1;
+    }
+
+    public boolean isBlank() {
+        return string.isBlank();
+    }
+
+    /**
+     * Substitutes each group reference with the corresponding capturing group
+     * of the first match of the specified matcher.
+     *
+     * <p>References to groups that do not exist are left as-is, and
+     * references to groups that did not participate in the match are
+     * replaced with the empty string.</p>
+     * @param matcher the matcher, or {@code null} for no substitution.
+     * @return the substituted string, or the source string if there was no
+     * substitution.
+     */
+    public String apply(@Nullable RegexMatcher matcher) {
+        if (groups.length == 0 || matcher == null || !matcher.find(0)) return string;
+        StringBuilder sb = new StringBuilder(string.length());
+        for (int i = 0; i < groups.length; i++) {
+            sb.append(literals[i]);
+            if (groups[i] <= matcher.groupCount()) {
+                String group = matcher.group(groups[i]);
+                if (group != null) sb.append(group);
+            } else {
+                sb.append('(').append(groups[i]).append(')');
+            }
+        }
+        sb.append(literals[groups.length]);
+        return sb.toString();
+    }
+}
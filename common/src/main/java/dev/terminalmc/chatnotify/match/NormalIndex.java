@@ -0,0 +1,144 @@
+/*
+ * Copyright 2025 TerminalMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.terminalmc.chatnotify.match;
+
+import java.util.*;
+
+/**
+ * Index of a list of normal triggers, answering which of the triggers occur
+ * in a message in a single pass.
+ *
+ * <p>Single-word triggers are looked up by hashing each word of the message,
+ * and all other triggers are searched for using a {@link TriggerAutomaton}, so
+ * the cost of a search depends on the length of the message rather than the
+ * number of triggers.</p>
+ */
+public class NormalIndex {
+    private final int size;
+
+    /**
+     * The {@link CompiledTrigger#id} of each single-word trigger, by its
+     * folded string.
+     */
+    private final Map<String, int[]> wordTriggers;
+
+    /**
+     * The length of the longest key of {@link NormalIndex#wordTriggers}.
+     */
+    private final int maxWordLength;
+
+    /**
+     * Automaton over the folded strings of all other triggers.
+     */
+    private final TriggerAutomaton automaton;
+
+    /**
+     * The {@link CompiledTrigger#id} of the trigger of each string in
+     * {@link NormalIndex#automaton}.
+     */
+    private final int[] owners;
+
+    /**
+     * Builds an index from the specified triggers.
+     * @param triggers the normal triggers, indexed by {@link CompiledTrigger#id}.
+     */
+    public NormalIndex(List<CompiledTrigger> triggers) {
+        this.size = triggers.size();
+        Map<String, List<Integer>> words = new HashMap<>();
+        List<String> strings = new ArrayList<>();
+        List<Integer> owners = new ArrayList<>();
+        int maxWordLength = 0;
+        for (int i = 0; i < triggers.size(); i++) {
+            String str = triggers.get(i).foldedString;
+            if (isWord(str)) {
+                words.computeIfAbsent(str, (k) -> new ArrayList<>()).add(i);
+                maxWordLength = Math.max(maxWordLength, str.length());
+            } else {
+                strings.add(str);
+                owners.add(i);
+            }
+        }
+        Map<String, int[]> wordTriggers = new HashMap<>(words.size() * 2);
+        words.forEach((word, ids) -> wordTriggers.put(word, 
+                ids.stream().mapToInt(Integer::intValue).toArray()));
+        this.wordTriggers = wordTriggers;
+        this.maxWordLength = maxWordLength;
+        this.automaton = new TriggerAutomaton(strings);
+        this.owners = owners.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Finds all triggers that occur in the specified string.
+     *
+     * <p><b>Note:</b> A hit is necessary but not sufficient for a match, as
+     * word boundaries are only checked for single-word triggers.</p>
+     * @param str the string to search.
+     * @param foldedStr {@code str}, case-folded by {@link NormalMatcher#fold}.
+     * @return an array indexed by {@link CompiledTrigger#id}, {@code true} if
+     * the trigger occurs in the string.
+     */
+    public boolean[] search(String str, String foldedStr) {
+        boolean[] hits = new boolean[size];
+        if (!wordTriggers.isEmpty()) searchWords(str, foldedStr, hits);
+        if (automaton.size() != 0) {
+            boolean[] automatonHits = automaton.search(foldedStr);
+            for (int i = 0; i < automatonHits.length; i++) {
+                if (automatonHits[i]) hits[owners[i]] = true;
+            }
+        }
+        return hits;
+    }
+
+    /**
+     * Splits the string into words, and looks up the triggers of each.
+     *
+     * <p>A word is a maximal run of {@code \w} chars in the Basic Multilingual
+     * Plane, not followed by a supplementary {@code \w} code point. These are
+     * exactly the places where {@link NormalMatcher} would match a trigger
+     * consisting of such a run.</p>
+     */
+    private void searchWords(String str, String foldedStr, boolean[] hits) {
+        int len = str.length();
+        int i = 0;
+        while (i < len) {
+            if (!NormalMatcher.isWordChar(str.charAt(i))) {
+                i++;
+                continue;
+            }
+            int start = i;
+            while (i < len && NormalMatcher.isWordChar(str.charAt(i))) i++;
+            if (i - start > maxWordLength) continue;
+            if (i < len && NormalMatcher.isWordChar(str.codePointAt(i))) continue;
+            int[] ids = wordTriggers.get(foldedStr.substring(start, i));
+            if (ids != null) {
+                for (int id : ids) hits[id] = true;
+            }
+        }
+    }
+
+    /**
+     * @return {@code true} if the string is a non-empty run of {@code \w}
+     * chars in the Basic Multilingual Plane, {@code false} otherwise.
+     */
+    static boolean isWord(String str) {
+        if (str.isEmpty()) return false;
+        for (int i = 0; i < str.length(); i++) {
+            if (!NormalMatcher.isWordChar(str.charAt(i))) return false;
+        }
+        return true;
+    }
+}
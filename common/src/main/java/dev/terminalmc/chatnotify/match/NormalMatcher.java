@@ -0,0 +1,303 @@
+/*
+ * Copyright 2025 TerminalMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.terminalmc.chatnotify.match;
+
+import dev.terminalmc.chatnotify.config.Trigger;
+
+/**
+ * Regex-free matcher for {@link Trigger.Type#NORMAL} triggers.
+ *
+ * <p>Performs a case-insensitive word-boundary search, equivalent to a
+ * {@link java.util.regex.Matcher} for the regex
+ * {@code (?iU)(?<!\w)(\W?)<quoted trigger>(\W?)(?!\w)}, but without compiling
+ * a {@link java.util.regex.Pattern} for each search.</p>
+ *
+ * <p>The word-boundary regex {@code \b} is a zero-width assertion that matches
+ * if there is {@code \w} on one side, and either there is {@code \W} on the
+ * other or the position is beginning or end of string. Thus, it cannot be used
+ * here as it will fail to match for a trigger starting or ending in
+ * {@code \W}.</p>
+ *
+ * <p>Both the searched string and the trigger string must be case-folded
+ * using {@link NormalMatcher#fold}. Case folding never changes the length of
+ * the string, so indexes in the folded string are valid for the original.</p>
+ *
+ * <p><b>Note:</b> There is one known difference from the regex. A trigger
+ * consisting of the single char {@code ß} (U+00DF) also matches {@code ẞ}
+ * (U+1E9E) here, because both fold to {@code ß}. The regex engine compiles a
+ * single quoted char with no distinct uppercase form as an exact match, so
+ * the regex only matches {@code ß}. In every other case, including longer
+ * triggers containing {@code ß} and the trigger {@code ẞ}, both match
+ * either.</p>
+ */
+public class NormalMatcher {
+    /**
+     * Bitset of all {@code \w} characters in the Basic Multilingual Plane.
+     */
+    private static final long[] BMP_WORD_CHARS = new long[1024];
+    static {
+        for (int c = 0; c <= Character.MAX_VALUE; c++) {
+            if (computeWordChar(c)) BMP_WORD_CHARS[c >>> 6] |= 1L << c;
+        }
+    }
+
+    private final String str;
+    private final String foldedStr;
+    private final String foldedTrigger;
+    private final boolean supplementary;
+
+    private int from = 0;
+    private int start = -1;
+    private int end = -1;
+    private int innerStart = -1;
+    private int innerEnd = -1;
+
+    /**
+     * @param str the string to search.
+     * @param foldedStr {@code str}, case-folded by {@link NormalMatcher#fold}.
+     * @param foldedTrigger the string to search for, case-folded by
+     *                      {@link NormalMatcher#fold}.
+     */
+    public NormalMatcher(String str, String foldedStr, String foldedTrigger) {
+        this.str = str;
+        this.foldedStr = foldedStr;
+        this.foldedTrigger = foldedTrigger;
+        this.supplementary = hasSurrogate(foldedTrigger);
+    }
+
+    /**
+     * Attempts to find the next match, starting at the end of the previous
+     * match.
+     * @return {@code true} if a match was found, {@code false} otherwise.
+     */
+    public boolean find() {
+        int len = str.length();
+        int i = from;
+        while (i <= len) {
+            int pos = foldedStr.indexOf(foldedTrigger, i);
+            if (pos == -1) break;
+            // A match can only start at the trigger, or at a single non-word
+            // code point (one or two chars) before it
+            for (int s = Math.max(i, pos - 2); s <= pos; s++) {
+                if (tryMatchAt(s)) {
+                    from = end == start ? end + 1 : end;
+                    return true;
+                }
+            }
+            i = pos + 1;
+        }
+        start = end = innerStart = innerEnd = -1;
+        from = len + 1;
+        return false;
+    }
+
+    /**
+     * Attempts to find a match in which the trigger string starts at the
+     * specified index, without searching.
+     * @param index the index of the first char of the trigger string.
+     * @return {@code true} if a match was found, {@code false} otherwise.
+     */
+    public boolean findAt(int index) {
+        int len = str.length();
+        if (index >= 0 && index <= len) {
+            // The match may include a single non-word code point before it
+            int s = index > 0 ? index - Character.charCount(str.codePointBefore(index)) : index;
+            for (; s <= index; s++) {
+                if (tryMatchAt(s) && innerStart == index) {
+                    from = end == start ? end + 1 : end;
+                    return true;
+                }
+            }
+        }
+        start = end = innerStart = innerEnd = -1;
+        from = len + 1;
+        return false;
+    }
+
+    /**
+     * @return the index of the first char of the match, including the
+     * optional leading non-word char.
+     */
+    public int start() {
+        checkMatch();
+        return start;
+    }
+
+    /**
+     * @return the index after the last char of the match, including the
+     * optional trailing non-word char.
+     */
+    public int end() {
+        checkMatch();
+        return end;
+    }
+
+    /**
+     * @return the index of the first char of the trigger string, equivalent
+     * to {@code start() + group(1).length()} for the regex.
+     */
+    public int innerStart() {
+        checkMatch();
+        return innerStart;
+    }
+
+    /**
+     * @return the index after the last char of the trigger string, equivalent
+     * to {@code end() - group(2).length()} for the regex.
+     */
+    public int innerEnd() {
+        checkMatch();
+        return innerEnd;
+    }
+
+    private void checkMatch() {
+        if (start == -1) throw new IllegalStateException("No match available");
+    }
+
+    /**
+     * Attempts a match starting at the specified index, in the same order as
+     * the regex engine would.
+     */
+    private boolean tryMatchAt(int s) {
+        int len = str.length();
+        if (s > 0) {
+            // The regex engine never starts a match inside a surrogate pair
+            if (s < len && Character.isSurrogatePair(str.charAt(s - 1), str.charAt(s))) {
+                return false;
+            }
+            // (?<!\w), which only considers surrogate pairs if the trigger
+            // contains surrogates
+            if (isWordChar(supplementary ? str.codePointBefore(s) : str.charAt(s - 1))) {
+                return false;
+            }
+        }
+        if (s < len) {
+            // (\W) followed by trigger
+            int cp = str.codePointAt(s);
+            if (!isWordChar(cp)) {
+                int t = s + Character.charCount(cp);
+                if (foldedStr.startsWith(foldedTrigger, t)
+                        && tryMatchTail(s, t, t + foldedTrigger.length())) {
+                    return true;
+                }
+            }
+        }
+        // () followed by trigger
+        return foldedStr.startsWith(foldedTrigger, s)
+                && tryMatchTail(s, s, s + foldedTrigger.length());
+    }
+
+    /**
+     * Attempts to match {@code (\W?)(?!\w)} at the end of the trigger.
+     */
+    private boolean tryMatchTail(int s, int t, int e) {
+        if (e < str.length()) {
+            int cp = str.codePointAt(e);
+            if (isWordChar(cp)) return false;
+            int next = e + Character.charCount(cp);
+            if (next == str.length() || !isWordChar(str.codePointAt(next))) {
+                setMatch(s, t, e, next);
+            } else {
+                setMatch(s, t, e, e);
+            }
+        } else {
+            setMatch(s, t, e, e);
+        }
+        return true;
+    }
+
+    private void setMatch(int start, int innerStart, int innerEnd, int end) {
+        this.start = start;
+        this.innerStart = innerStart;
+        this.innerEnd = innerEnd;
+        this.end = end;
+    }
+
+    // Static utilities
+
+    private static boolean hasSurrogate(String str) {
+        for (int i = 0; i < str.length(); i++) {
+            if (Character.isSurrogate(str.charAt(i))) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Case-folds the specified string using the same simple case mapping as
+     * the regex flags {@code (?iU)}.
+     * @param str the string to fold.
+     * @return the folded string, which is always the same length as the
+     * original, or the original string if no folding was required.
+     */
+    public static String fold(String str) {
+        int len = str.length();
+        int i = 0;
+        // Fast path for strings that are already folded
+        while (i < len) {
+            int cp = str.codePointAt(i);
+            if (foldCodePoint(cp) != cp) break;
+            i += Character.charCount(cp);
+        }
+        if (i == len) return str;
+
+        StringBuilder sb = new StringBuilder(len);
+        sb.append(str, 0, i);
+        while (i < len) {
+            int cp = str.codePointAt(i);
+            sb.appendCodePoint(foldCodePoint(cp));
+            i += Character.charCount(cp);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Case-folds the specified code point, as by {@link NormalMatcher#fold}.
+     *
+     * <p><b>Note:</b> Folds {@code ẞ} (U+1E9E) to {@code ß} (U+00DF), see the
+     * class documentation.</p>
+     */
+    static int foldCodePoint(int cp) {
+        if (cp < 0x80) {
+            return (cp >= 'A' && cp <= 'Z') ? cp + 32 : cp;
+        }
+        int folded = Character.toLowerCase(Character.toUpperCase(cp));
+        // Retain the original if folding would change the length
+        return Character.charCount(folded) == Character.charCount(cp) ? folded : cp;
+    }
+
+    /**
+     * @return {@code true} if the code point matches the regex {@code \w}
+     * with the flag {@code (?U)}, {@code false} otherwise.
+     */
+    public static boolean isWordChar(int cp) {
+        if (cp <= Character.MAX_VALUE) {
+            return (BMP_WORD_CHARS[cp >>> 6] & (1L << cp)) != 0;
+        }
+        return computeWordChar(cp);
+    }
+
+    private static boolean computeWordChar(int cp) {
+        return Character.isAlphabetic(cp)
+                || (((1 << Character.NON_SPACING_MARK)
+                        | (1 << Character.ENCLOSING_MARK)
+                        | (1 << Character.COMBINING_SPACING_MARK)
+                        | (1 << Character.DECIMAL_DIGIT_NUMBER)
+                        | (1 << Character.CONNECTOR_PUNCTUATION))
+                        >> Character.getType(cp) & 1) != 0
+                || cp == 0x200C || cp == 0x200D; // Join control
+    }
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright 2025 TerminalMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.terminalmc.chatnotify.match;
+
+import dev.terminalmc.chatnotify.ChatNotify;
+import dev.terminalmc.chatnotify.config.Config;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * A compiled regex, matched by one of the available engines.
+ */
+public abstract class Regex {
+    /**
+     * The source regex string.
+     */
+    public final String pattern;
+
+    Regex(String pattern) {
+        this.pattern = pattern;
+    }
+
+    /**
+     * @return the engine used to match this regex.
+     */
+    public abstract Config.RegexEngine engine();
+
+    /**
+     * Creates a matcher that will match the specified input against this
+     * regex.
+     */
+    public abstract RegexMatcher matcher(CharSequence input);
+
+    /**
+     * Creates a matcher that will match the specified input against this
+     * regex, with each search bounded by the specified time budget.
+     *
+     * <p>If a search exceeds the budget, it is aborted and
+     * {@link RegexTimeoutException} is thrown.</p>
+     * @param input the input to match.
+     * @param budgetNanos the time budget of each search in nanoseconds, or
+     *                    {@code 0} for no limit.
+     */
+    public RegexMatcher matcher(CharSequence input, long budgetNanos) {
+        if (budgetNanos <= 0) return matcher(input);
+        DeadlineCharSequence seq = new DeadlineCharSequence(input, pattern);
+        return new BudgetedMatcher(matcher(seq), seq, budgetNanos);
+    }
+
+    /**
+     * Compiles the specified regex string.
+     *
+     * <p>If {@link Config.RegexEngine#LINEAR} is preferred but the regex uses
+     * syntax not supported by {@link LinearRegex} (such as backreferences or
+     * lookaround), falls back to {@link Config.RegexEngine#JAVA}.</p>
+     * @param regex the regex string.
+     * @param preferred the preferred engine.
+     * @return the compiled {@link Regex}, or {@code null} if the string is not
+     * a valid regex.
+     */
+    public static @Nullable Regex tryCompile(String regex, Config.RegexEngine preferred) {
+        Pattern pattern;
+        try {
+            pattern = Pattern.compile(regex);
+        } catch (PatternSyntaxException e) {
+            ChatNotify.LOG.warn("Error processing regex: " + e);
+            return null;
+        }
+        if (preferred == Config.RegexEngine.LINEAR) {
+            Regex linear = LinearRegex.tryCompile(regex);
+            if (linear != null) return linear;
+        }
+        return new JavaRegex(pattern);
+    }
+
+    /**
+     * Determines which engine {@link Regex#tryCompile} would use for the
+     * specified regex string, without logging errors.
+     * @param regex the regex string.
+     * @param preferred the preferred engine.
+     * @return the engine, or {@code null} if the string is not a valid regex.
+     */
+    public static @Nullable Config.RegexEngine resolveEngine(String regex,
+                                                             Config.RegexEngine preferred) {
+        try {
+            Pattern.compile(regex);
+        } catch (PatternSyntaxException e) {
+            return null;
+        }
+        if (preferred == Config.RegexEngine.LINEAR && LinearRegex.tryCompile(regex) != null) {
+            return Config.RegexEngine.LINEAR;
+        }
+        return Config.RegexEngine.JAVA;
+    }
+
+    /**
+     * Wraps a {@link RegexMatcher}, arming the deadline of its input for the
+     * duration of each search.
+     */
+    private static class BudgetedMatcher implements RegexMatcher {
+        private final RegexMatcher matcher;
+        private final DeadlineCharSequence seq;
+        private final long budgetNanos;
+
+        BudgetedMatcher(RegexMatcher matcher, DeadlineCharSequence seq, long budgetNanos) {
+            this.matcher = matcher;
+            this.seq = seq;
+            this.budgetNanos = budgetNanos;
+        }
+
+        @Override
+        public boolean find() {
+            seq.arm(budgetNanos);
+            try {
+                return matcher.find();
+            } finally {
+                seq.disarm();
+            }
+        }
+
+        @Override
+        public boolean find(int start) {
+            seq.arm(budgetNanos);
+            try {
+                return matcher.find(start);
+            } finally {
+                seq.disarm();
+            }
+        }
+
+        @Override
+        public int start() {
+            return matcher.start();
+        }
+
+        @Override
+        public int start(int group) {
+            return matcher.start(group);
+        }
+
+        @Override
+        public int end() {
+            return matcher.end();
+        }
+
+        @Override
+        public int end(int group) {
+            return matcher.end(group);
+        }
+
+        @Override
+        public String group() {
+            return matcher.group();
+        }
+
+        @Override
+        public String group(int group) {
+            return matcher.group(group);
+        }
+
+        @Override
+        public int groupCount() {
+            return matcher.groupCount();
+        }
+    }
+}
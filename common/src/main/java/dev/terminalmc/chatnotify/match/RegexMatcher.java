@@ -0,0 +1,35 @@
+/*
+ * Copyright 2025 TerminalMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.terminalmc.chatnotify.match;
+
+import java.util.regex.MatchResult;
+
+/**
+ * The subset of {@link java.util.regex.Matcher} functionality used by message
+ * processing, implemented by each {@link Regex} engine.
+ */
+public interface RegexMatcher extends MatchResult {
+    /**
+     * Equivalent of {@link java.util.regex.Matcher#find()}.
+     */
+    boolean find();
+
+    /**
+     * Equivalent of {@link java.util.regex.Matcher#find(int)}.
+     */
+    boolean find(int start);
+}
@@ -0,0 +1,34 @@
+/*
+ * Copyright 2025 TerminalMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.terminalmc.chatnotify.match;
+
+/**
+ * Thrown when a regex evaluation exceeds its time budget.
+ *
+ * <p>Thrown on the hot path, so does not record a stack trace.</p>
+ */
+public class RegexTimeoutException extends RuntimeException {
+    /**
+     * The source regex string.
+     */
+    public final String regex;
+
+    RegexTimeoutException(String regex) {
+        super("Regex exceeded time budget: " + regex, null, false, false);
+        this.regex = regex;
+    }
+}
@@ -0,0 +1,339 @@
+/*
+ * Copyright 2025 TerminalMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.terminalmc.chatnotify.match;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * Bounded LRU cache of message processing results, allowing repeated messages
+ * to skip trigger search entirely.
+ *
+ * <p>Each entry records which {@link CompiledNotif}s were activated by which
+ * {@link CompiledTrigger}s, and every regex match used for restyling and
+ * capturing group substitution.</p>
+ *
+ * <p>Entries are only valid for the {@link MatchPlan} they were recorded
+ * with, so the cache is cleared whenever a different plan is used.</p>
+ */
+public class ResultCache {
+    private final Map<Key, Result> entries;
+    private @Nullable MatchPlan plan = null;
+    private long hits = 0;
+    private long misses = 0;
+
+    /**
+     * @param capacity the maximum number of entries.
+     */
+    public ResultCache(int capacity) {
+        this.entries = new LinkedHashMap<>(16, 0.75F, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Result> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * @param plan the current {@link MatchPlan}.
+     * @param key the message key.
+     * @return the cached result for the message, or {@code null} if none.
+     */
+    public @Nullable Result get(MatchPlan plan, Key key) {
+        if (plan != this.plan) {
+            entries.clear();
+            this.plan = plan;
+        }
+        Result result = entries.get(key);
+        if (result != null) hits++;
+        else misses++;
+        return result;
+    }
+
+    /**
+     * Caches the recorded result for the message, if it is valid for the
+     * current {@link MatchPlan}.
+     * @param plan the current {@link MatchPlan}.
+     * @param key the message key.
+     * @param recorder the {@link Recorder} used to process the message.
+     */
+    public void put(MatchPlan plan, Key key, Recorder recorder) {
+        if (plan == this.plan && recorder.valid) {
+            entries.put(key, new Result(recorder));
+        }
+    }
+
+    /**
+     * @return a summary of cache usage, for debug output.
+     */
+    public String stats() {
+        long total = hits + misses;
+        return String.format("%d hits, %d misses (%.1f%% hit rate), %d entries",
+                hits, misses, total == 0 ? 0 : 100.0 * hits / total, entries.size());
+    }
+
+    /**
+     * Identifies a message for caching.
+     * @param cleanStr the message string, with all format codes removed.
+     * @param cleanOwnedStr {@code cleanStr} with the sender removed, or 
+     *                      {@code null} if the message was not identified as
+     *                      sent by the user.
+     * @param translationKey the translation key of the message, or 
+     *                       {@code null} if not translatable.
+     */
+    public record Key(String cleanStr, @Nullable String cleanOwnedStr, 
+                      @Nullable String translationKey) {}
+
+    /**
+     * The recorded activations of a message.
+     */
+    public static class Result {
+        /**
+         * Activations, keyed by {@link CompiledNotif#index}.
+         */
+        private final Map<Integer, Activation> activations;
+
+        private Result(Recorder recorder) {
+            Map<Integer, Activation> activations = new HashMap<>();
+            recorder.activations.forEach((index, rec) -> activations.put(index, 
+                    new Activation(rec.trigger, rec.matcher == null 
+                            ? List.of() : List.copyOf(rec.matcher.matches))));
+            this.activations = Map.copyOf(activations);
+        }
+
+        /**
+         * @return the activation of the specified {@link CompiledNotif}, or
+         * {@code null} if it was not activated.
+         */
+        public @Nullable Activation get(CompiledNotif notif) {
+            return activations.get(notif.index);
+        }
+
+        /**
+         * @return {@code true} if every activated {@link CompiledNotif} can 
+         * still be activated, {@code false} otherwise.
+         */
+        public boolean canReplay(MatchPlan plan, boolean ownMsg) {
+            for (int index : activations.keySet()) {
+                if (!plan.notifs.get(index).canActivate(ownMsg)) return false;
+            }
+            return true;
+        }
+    }
+
+    /**
+     * A recorded activation.
+     * @param trigger the activated trigger.
+     * @param matches the spans of all groups of each regex match, in order.
+     */
+    public record Activation(CompiledTrigger trigger, List<int[]> matches) {
+        /**
+         * @return a {@link RegexMatcher} replaying the recorded matches.
+         */
+        public RegexMatcher matcher(String input) {
+            return new ReplayMatcher(input, matches);
+        }
+    }
+
+    /**
+     * Records the activations made while processing a message.
+     */
+    public static class Recorder {
+        private final Map<Integer, RecordedActivation> activations = new HashMap<>();
+        private boolean valid = true;
+
+        /**
+         * @return a {@link RegexMatcher} that records the matches of the 
+         * specified matcher.
+         */
+        public RegexMatcher record(RegexMatcher matcher) {
+            return new RecordingMatcher(matcher, this);
+        }
+
+        /**
+         * Records the activation of the specified {@link CompiledNotif}.
+         * @param matcher the {@link RegexMatcher} returned by
+         *                {@link Recorder#record}, if a regex trigger was used.
+         */
+        public void activated(CompiledNotif notif, CompiledTrigger trigger, 
+                              @Nullable RegexMatcher matcher) {
+            activations.put(notif.index, new RecordedActivation(trigger,
+                    matcher instanceof RecordingMatcher rm ? rm : null));
+        }
+
+        /**
+         * Prevents the result from being cached, for example if processing
+         * was aborted.
+         */
+        public void invalidate() {
+            valid = false;
+        }
+
+        private record RecordedActivation(CompiledTrigger trigger,
+                                          @Nullable RecordingMatcher matcher) {}
+    }
+
+    /**
+     * Wraps a {@link RegexMatcher}, recording each successive match.
+     *
+     * <p><b>Note:</b> Only {@code find(0)} can be replayed, other start
+     * indexes invalidate the {@link Recorder}.</p>
+     */
+    private static class RecordingMatcher implements RegexMatcher {
+        private final RegexMatcher matcher;
+        private final Recorder recorder;
+        private final List<int[]> matches = new ArrayList<>();
+        private int current = -1;
+
+        RecordingMatcher(RegexMatcher matcher, Recorder recorder) {
+            this.matcher = matcher;
+            this.recorder = recorder;
+        }
+
+        @Override
+        public boolean find() {
+            boolean found = matcher.find();
+            current++;
+            if (found && current == matches.size()) matches.add(spans());
+            return found;
+        }
+
+        @Override
+        public boolean find(int start) {
+            if (start != 0) recorder.invalidate();
+            boolean found = matcher.find(start);
+            current = 0;
+            if (found && matches.isEmpty()) matches.add(spans());
+            return found;
+        }
+
+        private int[] spans() {
+            int[] spans = new int[(matcher.groupCount() + 1) * 2];
+            for (int i = 0; i <= matcher.groupCount(); i++) {
+                spans[i * 2] = matcher.start(i);
+                spans[i * 2 + 1] = matcher.end(i);
+            }
+            return spans;
+        }
+
+        @Override
+        public int start() {
+            return matcher.start();
+        }
+
+        @Override
+        public int start(int group) {
+            return matcher.start(group);
+        }
+
+        @Override
+        public int end() {
+            return matcher.end();
+        }
+
+        @Override
+        public int end(int group) {
+            return matcher.end(group);
+        }
+
+        @Override
+        public String group() {
+            return matcher.group();
+        }
+
+        @Override
+        public String group(int group) {
+            return matcher.group(group);
+        }
+
+        @Override
+        public int groupCount() {
+            return matcher.groupCount();
+        }
+    }
+
+    /**
+     * {@link RegexMatcher} over a list of recorded matches.
+     */
+    private static class ReplayMatcher implements RegexMatcher {
+        private final String input;
+        private final List<int[]> matches;
+        private int current = -1;
+
+        ReplayMatcher(String input, List<int[]> matches) {
+            this.input = input;
+            this.matches = matches;
+        }
+
+        @Override
+        public boolean find() {
+            if (current < matches.size()) current++;
+            return current < matches.size();
+        }
+
+        @Override
+        public boolean find(int start) {
+            current = 0;
+            return !matches.isEmpty();
+        }
+
+        private int[] spans() {
+            if (current < 0 || current >= matches.size()) {
+                throw new IllegalStateException("No match available");
+            }
+            return matches.get(current);
+        }
+
+        @Override
+        public int start() {
+            return start(0);
+        }
+
+        @Override
+        public int start(int group) {
+            return spans()[group * 2];
+        }
+
+        @Override
+        public int end() {
+            return end(0);
+        }
+
+        @Override
+        public int end(int group) {
+            return spans()[group * 2 + 1];
+        }
+
+        @Override
+        public String group() {
+            return group(0);
+        }
+
+        @Override
+        public String group(int group) {
+            int[] spans = spans();
+            return spans[group * 2] == -1 ? null
+                    : input.substring(spans[group * 2], spans[group * 2 + 1]);
+        }
+
+        @Override
+        public int groupCount() {
+            return matches.isEmpty() ? 0 : matches.getFirst().length / 2 - 1;
+        }
+    }
+}
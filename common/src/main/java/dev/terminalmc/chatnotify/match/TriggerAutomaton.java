@@ -0,0 +1,196 @@
+/*
+ * Copyright 2025 TerminalMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.terminalmc.chatnotify.match;
+
+import java.util.*;
+
+/**
+ * Aho-Corasick automaton over a fixed list of case-folded strings.
+ *
+ * <p>A single pass over a case-folded message reports every string that
+ * occurs in the message, regardless of how many strings the automaton was
+ * built from.</p>
+ *
+ * <p><b>Note:</b> Only reports literal occurrences. Word-boundary checks are
+ * left to the caller, see {@link NormalMatcher}.</p>
+ */
+public class TriggerAutomaton {
+    private static final int ROOT = 0;
+    private static final long NO_KEY = -1L;
+
+    private final int size;
+
+    /**
+     * Open-addressing hash table of node transitions, keyed by
+     * {@code node << 16 | char}.
+     */
+    private final long[] transitionKeys;
+    private final int[] transitionValues;
+    private final int transitionMask;
+
+    /**
+     * The failure link of each node.
+     */
+    private final int[] fail;
+
+    /**
+     * The nearest node on the failure chain of each node that has outputs,
+     * or {@code -1} if none.
+     */
+    private final int[] dictLink;
+
+    /**
+     * The indexes of all strings ending at each node, or {@code null} if
+     * none.
+     */
+    private final int[][] outputs;
+
+    /**
+     * Builds an automaton from the specified strings.
+     * @param strings the case-folded strings. Empty strings are ignored.
+     */
+    public TriggerAutomaton(List<String> strings) {
+        this.size = strings.size();
+
+        // Build trie
+        List<Map<Character, Integer>> children = new ArrayList<>();
+        List<List<Integer>> nodeOutputs = new ArrayList<>();
+        children.add(new HashMap<>());
+        nodeOutputs.add(null);
+        int numTransitions = 0;
+        for (int i = 0; i < strings.size(); i++) {
+            String str = strings.get(i);
+            if (str.isEmpty()) continue;
+            int node = ROOT;
+            for (int j = 0; j < str.length(); j++) {
+                Integer next = children.get(node).get(str.charAt(j));
+                if (next == null) {
+                    next = children.size();
+                    children.get(node).put(str.charAt(j), next);
+                    children.add(new HashMap<>());
+                    nodeOutputs.add(null);
+                    numTransitions++;
+                }
+                node = next;
+            }
+            if (nodeOutputs.get(node) == null) nodeOutputs.set(node, new ArrayList<>());
+            nodeOutputs.get(node).add(i);
+        }
+
+        // Pack transitions into hash table, at most half full
+        int capacity = Integer.highestOneBit(Math.max(4, numTransitions * 2)) << 1;
+        this.transitionKeys = new long[capacity];
+        this.transitionValues = new int[capacity];
+        this.transitionMask = capacity - 1;
+        Arrays.fill(transitionKeys, NO_KEY);
+        for (int node = 0; node < children.size(); node++) {
+            for (Map.Entry<Character, Integer> entry : children.get(node).entrySet()) {
+                long key = key(node, entry.getKey());
+                int slot = slot(key);
+                while (transitionKeys[slot] != NO_KEY) slot = (slot + 1) & transitionMask;
+                transitionKeys[slot] = key;
+                transitionValues[slot] = entry.getValue();
+            }
+        }
+
+        // Compute failure and dictionary links, breadth-first
+        int numNodes = children.size();
+        this.fail = new int[numNodes];
+        this.dictLink = new int[numNodes];
+        this.outputs = new int[numNodes][];
+        dictLink[ROOT] = -1;
+        Deque<Integer> queue = new ArrayDeque<>();
+        for (int child : children.get(ROOT).values()) {
+            fail[child] = ROOT;
+            dictLink[child] = -1;
+            queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            int node = queue.poll();
+            for (Map.Entry<Character, Integer> entry : children.get(node).entrySet()) {
+                int child = entry.getValue();
+                int f = fail[node];
+                int target;
+                while ((target = transition(f, entry.getKey())) == -1 && f != ROOT) {
+                    f = fail[f];
+                }
+                fail[child] = target == -1 ? ROOT : target;
+                dictLink[child] = nodeOutputs.get(fail[child]) != null
+                        ? fail[child] : dictLink[fail[child]];
+                queue.add(child);
+            }
+        }
+        for (int node = 0; node < numNodes; node++) {
+            List<Integer> out = nodeOutputs.get(node);
+            if (out != null) {
+                outputs[node] = out.stream().mapToInt(Integer::intValue).toArray();
+            }
+        }
+    }
+
+    /**
+     * @return the number of strings the automaton was built from.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Finds all strings that occur in the specified string.
+     * @param foldedStr the string to search, case-folded by
+     *                  {@link NormalMatcher#fold}.
+     * @return an array with an element for each string the automaton was
+     * built from, {@code true} if that string occurs in {@code foldedStr}.
+     */
+    public boolean[] search(String foldedStr) {
+        boolean[] hits = new boolean[size];
+        if (size == 0) return hits;
+        int node = ROOT;
+        for (int i = 0; i < foldedStr.length(); i++) {
+            char c = foldedStr.charAt(i);
+            int next;
+            while ((next = transition(node, c)) == -1 && node != ROOT) {
+                node = fail[node];
+            }
+            node = next == -1 ? ROOT : next;
+            for (int n = outputs[node] != null ? node : dictLink[node]; n != -1; n = dictLink[n]) {
+                for (int index : outputs[n]) hits[index] = true;
+            }
+        }
+        return hits;
+    }
+
+    private int transition(int node, char c) {
+        long key = key(node, c);
+        int slot = slot(key);
+        long k;
+        while ((k = transitionKeys[slot]) != NO_KEY) {
+            if (k == key) return transitionValues[slot];
+            slot = (slot + 1) & transitionMask;
+        }
+        return -1;
+    }
+
+    private static long key(int node, char c) {
+        return ((long)node << 16) | c;
+    }
+
+    private int slot(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int)(h ^ (h >>> 32)) & transitionMask;
+    }
+}
@@ -19,6 +19,7 @@ package dev.terminalmc.chatnotify.mixin;
 import com.llamalad7.mixinextras.injector.wrapmethod.WrapMethod;
 import com.llamalad7.mixinextras.injector.wrapoperation.Operation;
 import dev.terminalmc.chatnotify.config.Config;
+import dev.terminalmc.chatnotify.match.MatchPlan;
 import dev.terminalmc.chatnotify.util.MessageUtil;
 import net.minecraft.client.GuiMessageTag;
 import net.minecraft.client.Minecraft;
@@ -67,7 +68,7 @@ public class MixinChatComponent {
 
     @Unique
     private static @Nullable Component chatNotify$replaceMessage(Component message, GuiMessageTag tag) {
-        if (switch (Config.get().detectionMode) {
+        if (switch (MatchPlan.get().detectionMode) {
             case HUD_KNOWN_TAGS -> (
                     tag == null 
                     || tag.equals(GuiMessageTag.system())
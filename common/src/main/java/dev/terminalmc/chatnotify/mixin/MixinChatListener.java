@@ -22,6 +22,7 @@ import com.mojang.authlib.GameProfile;
 import dev.terminalmc.chatnotify.compat.chatheads.ChatHeadsWrapper;
 import dev.terminalmc.chatnotify.compat.chatheads.Ownable;
 import dev.terminalmc.chatnotify.config.Config;
+import dev.terminalmc.chatnotify.match.MatchPlan;
 import dev.terminalmc.chatnotify.util.MessageUtil;
 import net.minecraft.client.multiplayer.chat.ChatListener;
 import net.minecraft.network.chat.ChatType;
@@ -45,7 +46,7 @@ public class MixinChatListener {
     @WrapMethod(method = "handleDisguisedChatMessage")
     private void wrapHandleDisguisedChatMessage(Component message, ChatType.Bound boundChatType, 
                                                 Operation<Void> original) {
-        if (Config.get().detectionMode.equals(Config.DetectionMode.PACKET)) {
+        if (MatchPlan.get().detectionMode.equals(Config.DetectionMode.PACKET)) {
             ChatHeadsWrapper.handleAddedMessage(message, boundChatType, null);
             message = MessageUtil.processMessage(message);
             if (message != null) original.call(message, boundChatType);
@@ -57,7 +58,7 @@ public class MixinChatListener {
     @WrapMethod(method = "handleSystemMessage")
     private void wrapHandleSystemMessage(Component message, boolean isOverlay, 
                                          Operation<Void> original) {
-        if (Config.get().detectionMode.equals(Config.DetectionMode.PACKET)) {
+        if (MatchPlan.get().detectionMode.equals(Config.DetectionMode.PACKET)) {
             ChatHeadsWrapper.handleAddedMessage(message, null, null);
             message = MessageUtil.processMessage(message);
             if (message != null) original.call(message, isOverlay);
@@ -72,9 +73,9 @@ public class MixinChatListener {
                                             PlayerChatMessage playerChatMessage, Component message, 
                                             GameProfile gameProfile, boolean onlyShowSecureChat, 
                                             Instant timestamp, Operation<Boolean> original) {
-        if (Config.get().detectionMode.equals(Config.DetectionMode.PACKET)) {
+        if (MatchPlan.get().detectionMode.equals(Config.DetectionMode.PACKET)) {
             ChatHeadsWrapper.handleAddedMessage(message, bound, ((Ownable)message).chatheads$getOwner());
-            message = MessageUtil.processMessage(message);
+            message = MessageUtil.processMessage(message, gameProfile.getId());
             if (message != null) return original.call(bound, playerChatMessage, message, 
                     gameProfile, onlyShowSecureChat, timestamp);
             return false;
@@ -16,8 +16,8 @@
 
 package dev.terminalmc.chatnotify.mixin;
 
-import com.mojang.datafixers.util.Pair;
 import dev.terminalmc.chatnotify.config.Config;
+import dev.terminalmc.chatnotify.match.MatchPlan;
 import dev.terminalmc.chatnotify.util.FormatUtil;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.multiplayer.ClientPacketListener;
@@ -49,14 +49,14 @@ import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
  * only needs to determine whether a message is sent by the user (not the more
  * general 'who sent this message?'), an alternate heuristic approach is used:
  *
- * 1. Mixins are used to store outgoing message and command strings in a list.
- * 2. If an incoming message string contains a string in the list, and the
+ * 1. Mixins are used to store outgoing message and command strings in a
+ *    fixed-capacity buffer.
+ * 2. If an incoming message string contains a string in the buffer, and the
  *    part of the string preceding the match contains a trigger string of the
  *    username notification, the message is identified as sent by the user,
- *    and the matched string removed from the list.
- * 3. When any outgoing message or command is recorded, all list entries older
- *    than 5 seconds are removed, as it can be assumed that those generated no
- *    matching return message.
+ *    and the matched string removed from the buffer.
+ * 3. Buffer entries older than 5 seconds are removed, as it can be assumed
+ *    that those generated no matching return message.
  *
  * Note that some outgoing messages may have modifier prefixes such as ! or
  * /shout that cause them to behave differently (e.g. go to global rather than
@@ -77,6 +77,7 @@ public class MixinClientPacketListener {
         String name = Minecraft.getInstance().player.getName().getString();
         Config.get().setProfileName(name);
         Config.get().setDisplayName(name);
+        MatchPlan.rebuild(Config.get());
     }
 
     /**
@@ -99,6 +100,7 @@ public class MixinClientPacketListener {
                 && entry.displayName() != null
         ) {
             Config.get().setDisplayName(FormatUtil.stripCodes(entry.displayName().getString()));
+            MatchPlan.rebuild(Config.get());
         }
     }
 
@@ -121,27 +123,20 @@ public class MixinClientPacketListener {
 
     @Unique
     private void chatNotify$storeMessage(String message) {
-        long time = System.nanoTime();
-        chatNotify$removeOldMessages(time);
-        
         String plainMsg = "";
 
         // If message starts with a prefix, remove the prefix.
         for (String prefix : Config.get().prefixes) {
             if (message.startsWith(prefix)) {
-                plainMsg = message.replaceFirst(prefix, "").strip();
+                plainMsg = message.substring(prefix.length()).strip();
                 break;
             }
         }
-        ChatNotify.recentMessages.add(Pair.of(
-                time + 5000000000L, plainMsg.isEmpty() ? message : plainMsg));
+        ChatNotify.sentMessages.add(plainMsg.isEmpty() ? message : plainMsg);
     }
 
     @Unique
     private void chatNotify$storeCommand(String command) {
-        long time = System.currentTimeMillis();
-        chatNotify$removeOldMessages(time);
-
         // The command '/' is removed before this point, so add it back before
         // checking against prefixes.
         command = '/' + command;
@@ -149,17 +144,9 @@ public class MixinClientPacketListener {
         // If command starts with a prefix, cut the prefix and store the command
         for (String prefix : Config.get().prefixes) {
             if (command.startsWith(prefix)) {
-                command = command.replaceFirst(prefix, "").strip();
-                if (!command.isEmpty()) {
-                    ChatNotify.recentMessages.add(Pair.of(time + 5000000000L, command));
-                }
+                ChatNotify.sentMessages.add(command.substring(prefix.length()).strip());
                 break;
             }
         }
     }
-
-    @Unique
-    private void chatNotify$removeOldMessages(long time) { // no see
-        ChatNotify.recentMessages.removeIf(pair -> pair.getFirst() < time);
-    }
 }
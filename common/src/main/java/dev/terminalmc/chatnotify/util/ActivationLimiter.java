@@ -0,0 +1,116 @@
+/*
+ * Copyright 2025 TerminalMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.terminalmc.chatnotify.util;
+
+import dev.terminalmc.chatnotify.config.Notification;
+
+/**
+ * Limits the rate of activation of a {@link Notification}, to avoid repeated
+ * sounds, titles and responses when its triggers are matched by a flood of
+ * messages.
+ *
+ * <p>Enforces a minimum time between activations, and a maximum number of
+ * activations within a sliding window. The times of the most recent
+ * activations are held in a ring buffer with one slot per allowed activation,
+ * so the oldest activation in the window is always at the head and each
+ * check takes constant time. All times are taken from {@link System#nanoTime}.
+ * </p>
+ *
+ * <p>Suppressed activations are counted, both in total and since the last
+ * allowed activation.</p>
+ */
+public class ActivationLimiter {
+    public static final long NANOS_PER_TICK = 50_000_000L;
+
+    private long[] times = new long[0];
+    private int head = 0;
+    private int size = 0;
+    private long lastTime;
+    private boolean hasActivated = false;
+
+    private int suppressed = 0;
+    private int recentSuppressed = 0;
+
+    /**
+     * Records an activation at the specified time, unless it is suppressed by
+     * the specified limits.
+     * @param time the time of the activation.
+     * @param cooldownNanos the minimum time between activations, or {@code 0}
+     *                      for no limit.
+     * @param limit the maximum number of activations within the window, or
+     *              {@code 0} for no limit.
+     * @param windowNanos the length of the window.
+     * @return {@code true} if the activation is allowed, {@code false} if it 
+     * was suppressed.
+     */
+    public boolean tryActivate(long time, long cooldownNanos, int limit, long windowNanos) {
+        if (limit != times.length) {
+            // Limit changed, previous activations cannot be carried over
+            times = new long[limit];
+            head = 0;
+            size = 0;
+        }
+
+        if ((cooldownNanos > 0 && hasActivated && time - lastTime < cooldownNanos)
+                || (limit > 0 && size == limit && time - times[head] < windowNanos)) {
+            suppressed++;
+            recentSuppressed++;
+            return false;
+        }
+
+        if (limit > 0) {
+            if (size == limit) {
+                head = (head + 1) % limit;
+                size--;
+            }
+            times[(head + size) % limit] = time;
+            size++;
+        }
+        lastTime = time;
+        hasActivated = true;
+        return true;
+    }
+
+    /**
+     * @return the total number of suppressed activations.
+     */
+    public int suppressed() {
+        return suppressed;
+    }
+
+    /**
+     * Clears the count of activations suppressed since the last allowed 
+     * activation.
+     * @return the count before clearing.
+     */
+    public int takeRecentSuppressed() {
+        int count = recentSuppressed;
+        recentSuppressed = 0;
+        return count;
+    }
+
+    /**
+     * Discards all recorded activations and suppression counts.
+     */
+    public void reset() {
+        head = 0;
+        size = 0;
+        hasActivated = false;
+        suppressed = 0;
+        recentSuppressed = 0;
+    }
+}
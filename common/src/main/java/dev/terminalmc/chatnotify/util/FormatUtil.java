@@ -17,7 +17,7 @@
 package dev.terminalmc.chatnotify.util;
 
 import dev.terminalmc.chatnotify.ChatNotify;
-import dev.terminalmc.chatnotify.config.Config;
+import dev.terminalmc.chatnotify.match.MatchPlan;
 import net.minecraft.ChatFormatting;
 import net.minecraft.locale.Language;
 import net.minecraft.network.chat.Component;
@@ -28,24 +28,120 @@ import net.minecraft.network.chat.contents.PlainTextContents;
 import net.minecraft.network.chat.contents.TranslatableContents;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.ArrayList;
-import java.util.IllegalFormatException;
-import java.util.List;
+import java.util.*;
+import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 public class FormatUtil {
-    private static final Pattern COLOR_CODE_PATTERN = Pattern.compile("\\u00A7.?");
     private static final String PLACEHOLDER_PATTERN_STRING 
             = "%(\\d+\\$)?([-#+ 0,(\\<]*)?(\\d+)?(\\.\\d+)?([tT])?([a-zA-Z%])";
     private static final Pattern PLACEHOLDER_PATTERN = Pattern.compile(PLACEHOLDER_PATTERN_STRING);
+    private static final int MAX_TEMPLATES = 1024;
+    private static final Map<TemplateKey, Template> templateCache = new HashMap<>();
+    private static @Nullable Language templateLanguage = null;
     
     /**
      * {@link net.minecraft.util.StringUtil#stripColor} only strips valid 
      * format codes, but invalid codes are also hidden from view so we remove 
      * them as well.
+     *
+     * <p>Equivalent to removing all matches of the regex {@code \u00A7.?}.
+     * </p>
+     * @return the stripped string, or {@code str} itself if it contains no 
+     * format codes.
      */
     public static String stripCodes(String str) {
-        return COLOR_CODE_PATTERN.matcher(str).replaceAll("");
+        int first = str.indexOf('\u00A7');
+        if (first == -1) return str;
+        return strip(str, first, null);
+    }
+
+    /**
+     * Strips format codes as per {@link FormatUtil#stripCodes}, and maps 
+     * each index of the stripped string to the corresponding index of the
+     * original string.
+     */
+    public static CleanString clean(String str) {
+        int first = str.indexOf('\u00A7');
+        if (first == -1) return new CleanString(str, str, null);
+        int[] rawIndexes = new int[str.length() + 1];
+        String clean = strip(str, first, rawIndexes);
+        return new CleanString(str, clean, Arrays.copyOf(rawIndexes, clean.length() + 1));
+    }
+
+    /**
+     * Single-scan implementation of {@link FormatUtil#stripCodes}.
+     * @param str the string to strip.
+     * @param first the index of the first section sign in {@code str}.
+     * @param rawIndexes if not {@code null}, populated with the index in 
+     *                   {@code str} of each char of the stripped string, 
+     *                   followed by the length of {@code str}.
+     * @return the stripped string.
+     */
+    private static String strip(String str, int first, int @Nullable [] rawIndexes) {
+        StringBuilder sb = new StringBuilder(str.length());
+        sb.append(str, 0, first);
+        if (rawIndexes != null) {
+            for (int i = 0; i < first; i++) rawIndexes[i] = i;
+        }
+        int len = str.length();
+        int i = first;
+        while (i < len) {
+            char c = str.charAt(i);
+            if (c == '\u00A7') { // Section sign
+                i++;
+                // Skip the next code point, unless it is a line terminator
+                if (i < len && !isLineTerminator(str.charAt(i))) {
+                    i += Character.charCount(str.codePointAt(i));
+                }
+            } else {
+                if (rawIndexes != null) rawIndexes[sb.length()] = i;
+                sb.append(c);
+                i++;
+            }
+        }
+        if (rawIndexes != null) rawIndexes[sb.length()] = len;
+        return sb.toString();
+    }
+
+    /**
+     * @return whether the char is a line terminator, and so not matched by 
+     * the regex {@code .}.
+     */
+    private static boolean isLineTerminator(char c) {
+        return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+    }
+
+    /**
+     * A string with format codes removed, with a mapping between indexes of
+     * the stripped and original strings.
+     * @param raw the original string.
+     * @param clean the stripped string.
+     * @param rawIndexes the index in {@code raw} of each char of 
+     *                   {@code clean}, followed by the length of {@code raw},
+     *                   or {@code null} if the strings are identical.
+     */
+    public record CleanString(String raw, String clean, int @Nullable [] rawIndexes) {
+        /**
+         * @param cleanIndex an index of the stripped string, from {@code 0}
+         *                   to its length inclusive.
+         * @return the corresponding index of the original string.
+         */
+        public int rawIndex(int cleanIndex) {
+            return rawIndexes == null ? cleanIndex : rawIndexes[cleanIndex];
+        }
+
+        /**
+         * @param rawIndex an index of the original string, from {@code 0} 
+         *                 to its length inclusive.
+         * @return the index of the first char of the stripped string at or
+         * after the specified index of the original string.
+         */
+        public int cleanIndex(int rawIndex) {
+            if (rawIndexes == null) return rawIndex;
+            int index = Arrays.binarySearch(rawIndexes, rawIndex);
+            return index >= 0 ? index : -index - 1;
+        }
     }
 
     /**
@@ -82,7 +178,7 @@ public class FormatUtil {
             throws IllegalArgumentException {
         if (!(text.getContents() instanceof TranslatableContents contents)) return text;
         
-        boolean debug = Config.get().debugMode.equals(Config.DebugMode.ALL);
+        boolean debug = MatchPlan.get().debug;
         
         if (debug) {
             ChatNotify.LOG.warn("Converting message to literal");
@@ -96,20 +192,16 @@ public class FormatUtil {
         List<Component> oldSiblings = new ArrayList<>(text.getSiblings());
         
         // Process translatable contents
-        Language lang = Language.getInstance();
-        String key = contents.getKey();
-        @Nullable String fallback = contents.getFallback();
+        Template template = getTemplate(contents.getKey(), contents.getFallback());
 
         // This is the unformatted string to be shown to the user
-        String string = fallback == null
-                ? lang.getOrDefault(key)
-                : lang.getOrDefault(key, fallback);
+        String string = template.string;
         
         // Minecraft will not attempt to process the placeholders if the string
         // format is invalid, so we check that here
         boolean validFormat = true;
         try {
-            String.format(string, contents.getArgs());
+            template.validate(contents.getArgs());
         } catch (IllegalFormatException e) {
             validFormat = false;
             text = Component.literal(string).withStyle(text.getStyle());
@@ -121,16 +213,8 @@ public class FormatUtil {
         }
         
         if (validFormat) {
-            // Split on placeholders to get an array of plain text elements
-            List<String> split = new ArrayList<>(List.of(PLACEHOLDER_PATTERN.split(string)));
-            
-            // Pad the array if necessary for ease of iteration
-            if (split.isEmpty()) {
-                split.add(""); // Pad start
-                split.add(""); // Pad end
-            } else if (!string.endsWith(split.getLast())) {
-                split.add(""); // Pad end only (start is already padded)
-            }
+            // Plain text elements, split on placeholders
+            List<String> split = template.split;
 
             if (debug) {
                 ChatNotify.LOG.warn("Format string:");
@@ -197,6 +281,126 @@ public class FormatUtil {
         return text;
     }
 
+    /**
+     * Gets the {@link Template} of the specified translation key, from the 
+     * cache if possible.
+     *
+     * <p>The cache is cleared whenever the {@link Language} instance changes,
+     * as happens when the client language is changed.</p>
+     * @param key the translation key.
+     * @param fallback the fallback string, if any.
+     * @return the template.
+     */
+    private static Template getTemplate(String key, @Nullable String fallback) {
+        Language lang = Language.getInstance();
+        if (lang != templateLanguage) {
+            templateCache.clear();
+            templateLanguage = lang;
+        }
+        TemplateKey templateKey = new TemplateKey(key, fallback);
+        Template template = templateCache.get(templateKey);
+        if (template == null) {
+            if (templateCache.size() >= MAX_TEMPLATES) templateCache.clear();
+            template = Template.of(fallback == null
+                    ? lang.getOrDefault(key)
+                    : lang.getOrDefault(key, fallback));
+            templateCache.put(templateKey, template);
+        }
+        return template;
+    }
+
+    private record TemplateKey(String key, @Nullable String fallback) {}
+
+    /**
+     * A translated string, pre-split on placeholders.
+     * @param string the translated string.
+     * @param split the plain text elements of the string, padded so that
+     *              there is exactly one more element than placeholders.
+     * @param requiredArgs if the string is simple, the number of args
+     *                     required to format it, otherwise {@code -1}.
+     */
+    private record Template(String string, List<String> split, int requiredArgs) {
+        /**
+         * The highest placeholder index allowed in a simple string.
+         */
+        private static final int MAX_SIMPLE_ARGS = 64;
+
+        /**
+         * Creates a template from the specified translated string.
+         *
+         * <p>The string is simple if all placeholders are plain string
+         * placeholders ({@code %s}, {@code %1$s}, {@code %%} and the like) and
+         * it can be formatted with enough string args (with no placeholder
+         * index above {@link Template#MAX_SIMPLE_ARGS}). Formatting a simple
+         * string can then only fail for lack of args.</p>
+         */
+        static Template of(String string) {
+            // Split on placeholders to get an array of plain text elements
+            List<String> split = new ArrayList<>(List.of(PLACEHOLDER_PATTERN.split(string)));
+
+            // Pad the array if necessary for ease of iteration
+            if (split.isEmpty()) {
+                split.add(""); // Pad start
+                split.add(""); // Pad end
+            } else if (!string.endsWith(split.getLast())) {
+                split.add(""); // Pad end only (start is already padded)
+            }
+
+            // Count required args, if simple
+            int requiredArgs = 0;
+            int ordinaryArgs = 0;
+            Matcher matcher = PLACEHOLDER_PATTERN.matcher(string);
+            while (matcher.find()) {
+                String flags = matcher.group(2);
+                if (flags != null && (flags.contains("#") || flags.contains("<"))) {
+                    requiredArgs = -1;
+                    break;
+                }
+                switch(matcher.group(6)) {
+                    case "s", "S" -> {
+                        String index = matcher.group(1);
+                        int argIndex;
+                        try {
+                            argIndex = index == null
+                                    ? ++ordinaryArgs
+                                    : Integer.parseInt(index.substring(0, index.length() - 1));
+                        } catch (NumberFormatException e) {
+                            argIndex = 0;
+                        }
+                        if (argIndex == 0 || argIndex > MAX_SIMPLE_ARGS) {
+                            requiredArgs = -1;
+                        } else {
+                            requiredArgs = Math.max(requiredArgs, argIndex);
+                        }
+                    }
+                    case "%", "n" -> {}
+                    default -> requiredArgs = -1;
+                }
+                if (requiredArgs == -1) break;
+            }
+            if (requiredArgs != -1) {
+                Object[] args = new Object[requiredArgs];
+                Arrays.fill(args, "");
+                try {
+                    String.format(string, args);
+                } catch (IllegalFormatException | NumberFormatException e) {
+                    requiredArgs = -1;
+                }
+            }
+            
+            return new Template(string, List.copyOf(split), requiredArgs);
+        }
+
+        /**
+         * Checks whether the string can be formatted with the specified args.
+         * @throws IllegalFormatException if it cannot.
+         */
+        void validate(Object[] args) throws IllegalFormatException {
+            if (requiredArgs != -1 && args.length >= requiredArgs) return;
+            String.format(string, args);
+        }
+    }
+
     /**
      * Converts any format codes in the literal contents of the 
      * {@link MutableComponent} to {@link Style}s.
@@ -17,12 +17,15 @@
 package dev.terminalmc.chatnotify.util;
 
 import com.google.gson.*;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
 import dev.terminalmc.chatnotify.ChatNotify;
 import org.jetbrains.annotations.Nullable;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Objects;
 import java.util.stream.Collectors;
 
 public class JsonUtil {
@@ -191,17 +194,16 @@ public class JsonUtil {
     }
 
     /**
-     * Non-primitive object deserialization helper.
-     *
-     * <p><b>Note:</b> requires the deserializer for {@code cls} to be 
-     * registered to the deserializing {@link Gson}.</p>
+     * Non-primitive object deserialization helper, for an object streamed by
+     * {@link JsonUtil#readObject}.
+     * @param streamed the streamed object, or {@code null} if the key was 
+     *                 missing or its value was not an object.
      */
-    public static <T> T getOrDefault(JsonDeserializationContext ctx, JsonObject obj,
-                                     String key, Class<T> cls, T def, boolean silent) {
-        JsonElement element = getAsJsonObjectOrNull(obj, key, cls, silent);
-        if (element == null) return def;
-
-        return ctx.deserialize(element, cls);
+    public static <T> T getOrDefault(JsonObject obj, String key, Class<T> cls, 
+                                     @Nullable T streamed, T def, boolean silent) {
+        if (streamed != null) return streamed;
+        getAsJsonObjectOrNull(obj, key, cls, silent); // Log failure
+        return def;
     }
 
     /**
@@ -220,25 +222,87 @@ public class JsonUtil {
                 .collect(Collectors.toCollection(ArrayList::new));
     }
     /**
-     * Non-primitive object list deserialization helper.
-     *
-     * <p><b>Note:</b> requires the deserializer for {@code cls} to be 
-     * registered to the deserializing {@link Gson}.</p>
+     * Non-primitive object list deserialization helper, for a list streamed 
+     * by {@link JsonUtil#readList}.
+     * @param streamed the streamed list, or {@code null} if the key was 
+     *                 missing or its value was not an array.
      */
-    @SuppressWarnings("unchecked")
-    public static <T> List<T> getOrDefault(JsonDeserializationContext ctx, JsonObject obj,
-                                           String key, Class<T> cls, List<T> def, boolean silent) {
-        JsonArray array = getAsJsonArrayOrNull(obj, key, cls, silent);
-        if (array == null) return def;
+    public static <T> List<T> getOrDefault(JsonObject obj, String key, Class<T> cls,
+                                           @Nullable List<T> streamed, List<T> def, 
+                                           boolean silent) {
+        if (streamed != null) return streamed;
+        getAsJsonArrayOrNull(obj, key, cls, silent); // Log failure
+        return def;
+    }
 
-        return array
-                .asList()
-                .stream()
-                .filter(JsonElement::isJsonObject)
-                .map((je) -> (T)ctx.deserialize(je, cls))
-                .toList()
-                .stream()
-                .filter(Objects::nonNull)
-                .collect(Collectors.toCollection(ArrayList::new));
+    // Streaming
+
+    /**
+     * Reads the next value into the specified {@link JsonObject}, to be
+     * deserialized by the primitive deserialization helpers.
+     */
+    public static void readValue(JsonReader in, JsonObject obj, String key) {
+        obj.add(key, JsonParser.parseReader(in));
+    }
+
+    /**
+     * Streams the next value using the specified adapter if it is an object,
+     * else reads it into the specified {@link JsonObject}.
+     * @return the streamed object, or {@code null} if the value was not an
+     * object.
+     */
+    public static <T> @Nullable T readObject(JsonReader in, JsonObject obj, String key,
+                                             TypeAdapter<T> adapter) throws IOException {
+        if (in.peek() != JsonToken.BEGIN_OBJECT) {
+            readValue(in, obj, key);
+            return null;
+        }
+        return adapter.read(in);
+    }
+
+    /**
+     * Streams the next value if it is an array, using the specified adapter
+     * for each element that is an object and skipping all other elements, 
+     * else reads it into the specified {@link JsonObject}.
+     * @return the streamed list, or {@code null} if the value was not an 
+     * array.
+     */
+    public static <T> @Nullable List<T> readList(JsonReader in, JsonObject obj, String key,
+                                                 TypeAdapter<T> adapter) throws IOException {
+        if (in.peek() != JsonToken.BEGIN_ARRAY) {
+            readValue(in, obj, key);
+            return null;
+        }
+        List<T> list = new ArrayList<>();
+        in.beginArray();
+        while (in.hasNext()) {
+            if (in.peek() == JsonToken.BEGIN_OBJECT) {
+                T element = adapter.read(in);
+                if (element != null) list.add(element);
+            } else {
+                in.skipValue();
+            }
+        }
+        in.endArray();
+        return list;
+    }
+
+    /**
+     * Writes the specified list, using the specified adapter for each element.
+     */
+    public static <T> void writeList(JsonWriter out, List<T> list, 
+                                     TypeAdapter<T> adapter) throws IOException {
+        out.beginArray();
+        for (T element : list) {
+            adapter.write(out, element);
+        }
+        out.endArray();
+    }
+
+    /**
+     * Writes the name of the specified enum constant, or {@code null}.
+     */
+    public static void writeEnum(JsonWriter out, @Nullable Enum<?> value) throws IOException {
+        out.value(value == null ? null : value.name());
     }
 }
@@ -20,25 +20,33 @@ import com.mojang.datafixers.util.Pair;
 import dev.terminalmc.chatnotify.ChatNotify;
 import dev.terminalmc.chatnotify.compat.chatheads.ChatHeadsWrapper;
 import dev.terminalmc.chatnotify.config.*;
+import dev.terminalmc.chatnotify.match.CompiledNotif;
+import dev.terminalmc.chatnotify.match.CompiledTrigger;
+import dev.terminalmc.chatnotify.match.MatchPlan;
+import dev.terminalmc.chatnotify.match.MessageTemplate;
+import dev.terminalmc.chatnotify.match.NormalMatcher;
+import dev.terminalmc.chatnotify.match.RegexMatcher;
+import dev.terminalmc.chatnotify.match.RegexTimeoutException;
+import dev.terminalmc.chatnotify.match.ResultCache;
+import net.minecraft.ChatFormatting;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.multiplayer.PlayerInfo;
-import net.minecraft.client.resources.sounds.SimpleSoundInstance;
-import net.minecraft.client.resources.sounds.SoundInstance;
 import net.minecraft.network.chat.*;
 import net.minecraft.network.chat.contents.TranslatableContents;
-import net.minecraft.resources.ResourceLocation;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
-import static dev.terminalmc.chatnotify.ChatNotify.recentMessages;
 import static dev.terminalmc.chatnotify.config.Config.SenderDetectionMode.COMBINED;
 
 public class MessageUtil {
     private static boolean debug = false;
     private static boolean ownMsg = false;
+
+    /**
+     * Results of recently processed messages, for repeated messages.
+     */
+    private static final ResultCache resultCache = new ResultCache(256);
     
     /**
      * Initiates the message processing algorithm.
@@ -47,7 +55,19 @@ public class MessageUtil {
      * was required.
      */
     public static @Nullable Component processMessage(Component msg) {
-        debug = Config.get().debugMode.equals(Config.DebugMode.ALL);
+        return processMessage(msg, null);
+    }
+
+    /**
+     * Initiates the message processing algorithm.
+     * @param msg The original message.
+     * @param sender The UUID of the player that sent the message, if known.
+     * @return A modified copy of the message, or the original if no modifying
+     * was required.
+     */
+    public static @Nullable Component processMessage(Component msg, @Nullable UUID sender) {
+        MatchPlan plan = MatchPlan.get();
+        debug = plan.debug;
         ownMsg = false;
         
         String str = msg.getString();
@@ -60,20 +80,31 @@ public class MessageUtil {
         if (debug) {
             ChatNotify.LOG.warn("Processing new message");
             ChatNotify.LOG.warn("Original text:");
-            ChatNotify.LOG.warn(msg.getString());
+            ChatNotify.LOG.warn(str);
             ChatNotify.LOG.warn("Original tree:");
             ChatNotify.LOG.warn(msg.toString());
         }
 
         // Remove format codes from string before searching
-        String cleanStr = FormatUtil.stripCodes(str);
+        FormatUtil.CleanString clean = FormatUtil.clean(str);
+        String cleanStr = clean.clean();
         
         // Check owner
-        String cleanOwnedStr = checkOwner(cleanStr);
+        String cleanOwnedStr = checkOwner(plan, clean, sender);
         ownMsg = !cleanOwnedStr.equals(cleanStr);
         
+        // Check for a cached result
+        ResultCache.Key key = new ResultCache.Key(cleanStr, ownMsg ? cleanOwnedStr : null,
+                msg.getContents() instanceof TranslatableContents tc ? tc.getKey() : null);
+        ResultCache.Result cached = resultCache.get(plan, key);
+        if (cached != null && !cached.canReplay(plan, ownMsg)) cached = null;
+        if (debug) ChatNotify.LOG.warn("Result cache {}: {}", 
+                cached != null ? "hit" : "miss", resultCache.stats());
+        
         // Process notifications
-        msg = tryNotify(msg.copy(), cleanStr, cleanOwnedStr);
+        ResultCache.Recorder recorder = new ResultCache.Recorder();
+        msg = tryNotify(plan, msg.copy(), cleanStr, cleanOwnedStr, cached, recorder);
+        if (cached == null) resultCache.put(plan, key, recorder);
 
         if (debug) {
             ChatNotify.LOG.warn("Finished processing message");
@@ -95,8 +126,9 @@ public class MessageUtil {
      * necessary to prevent unwanted notifications.
      *
      * <p>If the global option {@link Config#senderDetectionMode} is set to 
-     * {@link Config.SenderDetectionMode#COMBINED} and the ChatHeads mod is
-     * available, it will be queried to determine the message owner.</p>
+     * {@link Config.SenderDetectionMode#COMBINED}, the sender UUID is compared
+     * to the user's if known. Otherwise, if the ChatHeads mod is available, it
+     * will be queried to determine the message owner.</p>
      * 
      * <p>Otherwise, the message will be compared to recently sent messages 
      * and checked for triggers of the username notification to determine
@@ -106,33 +138,32 @@ public class MessageUtil {
      * the global option {@link Config#checkOwnMessages} is false, else the part
      * of the prefix that matched a trigger is removed to prevent it being 
      * detected by trigger search.</p>
-     * @param cleanStr the clean (no format codes) string to check.
+     * @param plan the current {@link MatchPlan}.
+     * @param clean the message string, and the clean (no format codes) string
+     *              to check.
+     * @param sender the UUID of the player that sent the message, if known.
      * @return the string, a modified copy, or {@code null} depending on the
      * result of the check.
      */
-    private static String checkOwner(String cleanStr) {
+    private static String checkOwner(MatchPlan plan, FormatUtil.CleanString clean, 
+                                     @Nullable UUID sender) {
+        String cleanStr = clean.clean();
         boolean checkSuccessful = false;
         String cleanOwnedStr = cleanStr;
-        if (Config.get().senderDetectionMode == COMBINED) {
-            // Ask chat heads who the message owner is
-            Pair<PlayerInfo,Integer> info = ChatHeadsWrapper.getPlayerInfo();
-            if (info != null) { // null indicates ChatHeads failure
+        if (plan.senderDetectionMode == COMBINED) {
+            if (sender != null) {
+                // Sender is known, no need to search
                 checkSuccessful = true;
-                if (debug) ChatNotify.LOG.warn("Owner check using ChatHeads");
-                if (info.getFirst() != null && Minecraft.getInstance().player != null) {
-                    UUID id = info.getFirst().getProfile().getId();
-                    if (id.equals(Minecraft.getInstance().player.getUUID())) {
-                        if (debug) ChatNotify.LOG.warn("Matched user's UUID");
-                        for (Trigger t : Config.get().getUserNotif().triggers) {
-                            Matcher matcher = normalSearch(cleanStr, t.string);
-                            if (matcher.find()) {
-                                if (debug) ChatNotify.LOG.warn("Matched trigger '{}'", t.string);
-                                // Modify message according to config
-                                cleanOwnedStr = cleanStr.substring(0, matcher.start()) 
-                                        + cleanStr.substring(matcher.end());
-                                break;
-                            }
-                        }
+                if (debug) ChatNotify.LOG.warn("Owner check using sender UUID");
+                if (isUser(sender)) cleanOwnedStr = removeUserTrigger(plan, cleanStr);
+            } else {
+                // Ask chat heads who the message owner is
+                Pair<PlayerInfo,Integer> info = ChatHeadsWrapper.getPlayerInfo();
+                if (info != null) { // null indicates ChatHeads failure
+                    checkSuccessful = true;
+                    if (debug) ChatNotify.LOG.warn("Owner check using ChatHeads");
+                    if (info.getFirst() != null && isUser(info.getFirst().getProfile().getId())) {
+                        cleanOwnedStr = removeUserTrigger(plan, clean, info.getSecond());
                     }
                 }
             }
@@ -141,32 +172,33 @@ public class MessageUtil {
         if (!checkSuccessful) {
             if (debug) ChatNotify.LOG.warn("Owner check using heuristic");
             // Check for a matching stored message
-            for (int i = 0; i < recentMessages.size(); i++) {
-                // Find last occurrence of recent message
-                // Case-insensitive to allow for servers with all-caps prevention
-                Matcher recentMatcher = Pattern.compile("(?iU)" + 
-                                Pattern.quote(recentMessages.get(i).getSecond())).matcher(cleanStr);
-                int recentStart = -1;
-                while(recentMatcher.find()) {
-                    recentStart = recentMatcher.start();
-                }
+            SentMessageStore sentMessages = ChatNotify.sentMessages;
+            sentMessages.expire();
+            // Case-insensitive to allow for servers with all-caps prevention
+            String foldedStr = NormalMatcher.fold(cleanStr);
+            boolean matched = false;
+            for (int i = 0; i < sentMessages.size() && !matched; i++) {
+                String foldedMsg = sentMessages.getFolded(i);
+                if (foldedMsg == null) continue;
+                // Find last occurrence of sent message
+                int recentStart = foldedStr.lastIndexOf(foldedMsg);
                 if (recentStart != -1) {
                     if (debug) ChatNotify.LOG.warn("Matched recent message '{}' at index {}",
-                            recentMessages.get(i).getSecond(), recentStart);
+                            sentMessages.get(i), recentStart);
                     // Matched against a stored message, check for a username trigger
                     String prefix = cleanStr.substring(0, recentStart);
-                    for (Trigger t : Config.get().getUserNotif().triggers) {
-                        Matcher triggerMatcher = normalSearch(prefix, t.string);
+                    String foldedPrefix = foldedStr.substring(0, recentStart);
+                    for (CompiledTrigger t : plan.userNotif.triggers) {
+                        NormalMatcher triggerMatcher = t.normalMatcher(prefix, foldedPrefix);
                         if (triggerMatcher.find()) {
                             if (debug) ChatNotify.LOG.warn("Matched trigger '{}' at index {}", 
                                     t.string, triggerMatcher.start());
-                            recentMessages.remove(i); // Remove stored message
+                            sentMessages.remove(i); // Remove stored message
                             // Modify message according to config
                             cleanOwnedStr = 
-                                    cleanStr.substring(0, triggerMatcher.start()
-                                            + triggerMatcher.group(1).length()) 
-                                    + cleanStr.substring(triggerMatcher.end()
-                                            - triggerMatcher.group(2).length());
+                                    cleanStr.substring(0, triggerMatcher.innerStart()) 
+                                    + cleanStr.substring(triggerMatcher.innerEnd());
+                            matched = true;
                             break;
                         }
                     }
@@ -177,6 +209,74 @@ public class MessageUtil {
         return cleanOwnedStr;
     }
 
+    /**
+     * @return {@code true} if the specified UUID is the user's, {@code false}
+     * otherwise.
+     */
+    private static boolean isUser(UUID id) {
+        if (Minecraft.getInstance().player == null) return false;
+        if (!id.equals(Minecraft.getInstance().player.getUUID())) return false;
+        if (debug) ChatNotify.LOG.warn("Matched user's UUID");
+        return true;
+    }
+
+    /**
+     * Removes the trigger of the username notification at the position
+     * identified by ChatHeads from a message known to be sent by the user, 
+     * falling back to {@link MessageUtil#removeUserTrigger(MatchPlan, String)}
+     * if the position is unknown or no trigger matches there.
+     * @param plan the current {@link MatchPlan}.
+     * @param clean the message string, and the clean (no format codes) 
+     *              string.
+     * @param codePointIndex the code point index of the sender's name in the
+     *                       message string, as reported by ChatHeads.
+     * @return a modified copy of the clean string, or the clean string if no
+     * trigger matched.
+     */
+    private static String removeUserTrigger(MatchPlan plan, FormatUtil.CleanString clean, 
+                                            @Nullable Integer codePointIndex) {
+        String raw = clean.raw();
+        String cleanStr = clean.clean();
+        if (codePointIndex != null && codePointIndex >= 0 
+                && codePointIndex <= raw.codePointCount(0, raw.length())) {
+            int index = clean.cleanIndex(raw.offsetByCodePoints(0, codePointIndex));
+            String foldedStr = NormalMatcher.fold(cleanStr);
+            for (CompiledTrigger t : plan.userNotif.triggers) {
+                NormalMatcher matcher = t.normalMatcher(cleanStr, foldedStr);
+                if (matcher.findAt(index)) {
+                    if (debug) ChatNotify.LOG.warn("Matched trigger '{}' at ChatHeads index {}", 
+                            t.string, index);
+                    // Modify message according to config
+                    return cleanStr.substring(0, matcher.start()) 
+                            + cleanStr.substring(matcher.end());
+                }
+            }
+            if (debug) ChatNotify.LOG.warn("No trigger at ChatHeads index {}", index);
+        }
+        return removeUserTrigger(plan, cleanStr);
+    }
+
+    /**
+     * Removes the first match of a trigger of the username notification from 
+     * a message known to be sent by the user.
+     * @param plan the current {@link MatchPlan}.
+     * @param cleanStr the clean (no format codes) message string.
+     * @return a modified copy of the string, or the string if no trigger
+     * matched.
+     */
+    private static String removeUserTrigger(MatchPlan plan, String cleanStr) {
+        String foldedStr = NormalMatcher.fold(cleanStr);
+        for (CompiledTrigger t : plan.userNotif.triggers) {
+            NormalMatcher matcher = t.normalMatcher(cleanStr, foldedStr);
+            if (matcher.find()) {
+                if (debug) ChatNotify.LOG.warn("Matched trigger '{}'", t.string);
+                // Modify message according to config
+                return cleanStr.substring(0, matcher.start()) + cleanStr.substring(matcher.end());
+            }
+        }
+        return cleanStr;
+    }
+
     /**
      * For each trigger of each enabled notification, checks whether the
      * trigger matches the message.
@@ -187,99 +287,326 @@ public class MessageUtil {
      * <p>If the notification should be activated, completes the relevant
      * notification actions.</p>
      *
+     * <p>If a regex trigger or style target of a notification exceeds
+     * {@link Config#regexBudget}, processing of that notification is aborted
+     * and the overrun recorded, see {@link Notification#recordRegexOverrun}.
+     * </p>
+     *
+     * <p>If a cached result is available, the recorded activations are 
+     * replayed instead of searching.</p>
+     *
+     * <p>Activations suppressed by {@link Notification#cooldownTicks} or
+     * {@link Notification#floodLimit} are counted by the 
+     * {@link ActivationLimiter} of the notification, and otherwise ignored.
+     * </p>
+     *
      * <p><b>Note:</b> For performance and simplicity reasons, this method only
      * allows one notification to be triggered by a given message.</p>
+     * @param plan the current {@link MatchPlan}.
      * @param msg the message.
      * @param cleanStr the message string, with all format codes removed.
      * @param cleanOwnedStr cleanStr, with the sender removed if applicable.
+     * @param cached the cached result for the message, if any.
+     * @param recorder the {@link ResultCache.Recorder} to record activations.
      * @return a re-styled copy of the message, or the original message if
      * restyling was not possible.
      */
-    private static @Nullable Component tryNotify(Component msg, String cleanStr, 
-                                                 String cleanOwnedStr) {
-        boolean restyleAll = Config.get().restyleMode.equals(Config.RestyleMode.ALL_INSTANCES);
+    private static @Nullable Component tryNotify(MatchPlan plan, Component msg, String cleanStr, 
+                                                 String cleanOwnedStr, 
+                                                 @Nullable ResultCache.Result cached,
+                                                 ResultCache.Recorder recorder) {
         boolean anyActivated = false;
         boolean anySoundPlayed = false;
         
+        // Case-fold once for all normal triggers
+        String foldedStr = NormalMatcher.fold(cleanStr);
+        String foldedOwnedStr = cleanOwnedStr.equals(cleanStr) 
+                ? foldedStr : NormalMatcher.fold(cleanOwnedStr);
+        
+        // Find all normal triggers occurring in the message, in one pass
+        boolean[] normalHits = cached == null ? searchNormal(plan, cleanOwnedStr, foldedOwnedStr) : null;
+        
+        // Find all regex triggers that could match the message, in one pass
+        boolean[] regexCandidates = cached == null ? searchRegex(plan, foldedStr) : null;
+        
         // Check each notification, in order
-        for (Notification notif : Config.get().getNotifs()) {
+        for (CompiledNotif notif : plan.notifs) {
             if (!notif.canActivate(ownMsg)) continue;
+            ResultCache.Activation activation = cached != null ? cached.get(notif) : null;
+            if (cached != null && activation == null) continue;
             
             // Trigger search
-            for (Trigger trig : notif.triggers) {
-                if (trig.string.isBlank()) continue;
-                Matcher matcher = null;
-                boolean hit = switch(trig.type) {
-                    case NORMAL -> {
-                        if (normalSearch(cleanOwnedStr, trig.string).find()) {
-                            matcher = normalSearch(cleanStr, trig.string);
-                            yield matcher.find();
+            try {
+                for (CompiledTrigger trig : notif.triggers) {
+                    NormalMatcher normalMatcher = null;
+                    RegexMatcher matcher = null;
+                    if (activation != null) {
+                        // Replay cached activation, skipping search
+                        if (trig != activation.trigger()) continue;
+                        switch(trig.type) {
+                            case NORMAL -> {
+                                normalMatcher = trig.normalMatcher(cleanStr, foldedStr);
+                                normalMatcher.find();
+                            }
+                            case REGEX -> {
+                                matcher = activation.matcher(cleanStr);
+                                matcher.find();
+                            }
+                        }
+                    } else {
+                        boolean hit = switch(trig.type) {
+                            case NORMAL -> {
+                                if (normalHits[trig.id] 
+                                        && trig.normalMatcher(cleanOwnedStr, foldedOwnedStr).find()) {
+                                    normalMatcher = trig.normalMatcher(cleanStr, foldedStr);
+                                    yield normalMatcher.find();
+                                }
+                                yield false;
+                            }
+                            case REGEX -> {
+                                if (trig.pattern == null || !regexCandidates[trig.id]) yield false;
+                                matcher = recorder.record(
+                                        trig.pattern.matcher(cleanStr, plan.regexBudgetNanos));
+                                yield matcher.find();
+                            }
+                            case KEY -> keySearch(msg, trig.string);
+                        };
+                        if (!hit) continue;
+
+                        // Exclusion search
+                        boolean exHit = false;
+                        for (CompiledTrigger exTrig : notif.exclusionTriggers) {
+                            exHit = switch(exTrig.type) {
+                                case NORMAL -> normalHits[exTrig.id] 
+                                        && exTrig.normalMatcher(cleanOwnedStr, foldedOwnedStr).find();
+                                case REGEX -> exTrig.pattern != null && regexCandidates[exTrig.id]
+                                        && exTrig.pattern.matcher(cleanStr, plan.regexBudgetNanos).find();
+                                case KEY -> keySearch(msg, exTrig.string);
+                            };
+                            if (exHit) break;
                         }
-                        yield false;
+                        if (exHit) continue;
+                        recorder.activated(notif, trig, matcher);
                     }
-                    case REGEX -> {
-                        if (trig.pattern == null) yield false;
-                        matcher = trig.pattern.matcher(cleanStr);
-                        yield matcher.find();
+
+                    // Flood control, checked before any activation work.
+                    // A suppressed activation still counts for NotifMode.SINGLE
+                    if (!notif.tryActivate()) {
+                        if (debug) ChatNotify.LOG.warn("Suppressed activation of notification {} " 
+                                + "({} total)", notif.index, 
+                                notif.source.activationLimiter.suppressed());
+                        anyActivated = true;
+                        break;
                     }
-                    case KEY -> keySearch(msg, trig.string);
-                };
-                if (!hit) continue;
-
-                // Exclusion search
-                boolean exHit = false;
-                if (notif.exclusionEnabled) {
-                    for (Trigger exTrig : notif.exclusionTriggers) {
-                        if (trig.string.isBlank()) continue;
-                        exHit = switch(exTrig.type) {
-                            case NORMAL -> normalSearch(cleanOwnedStr, exTrig.string).find();
-                            case REGEX -> exTrig.pattern != null && exTrig.pattern.matcher(cleanStr).find();
-                            case KEY -> keySearch(msg, exTrig.string);
-                        };
-                        if (exHit) break;
+                    int suppressed = notif.source.activationLimiter.takeRecentSuppressed();
+                    if (suppressed > 0) {
+                        ChatNotify.LOG.info("Notification {} suppressed {} activations since " 
+                                + "its last activation", notif.index, suppressed);
                     }
-                }
-                if (exHit) continue;
+
+                    // Find restyle targets before any side effects, as a
+                    // regex style target may exceed the budget
+                    StyleUtil.Targets targets = StyleUtil.findTargets(cleanStr, foldedStr, trig, 
+                            normalMatcher, matcher, notif.textStyle, plan.restyleAllInstances, plan);
                 
-                // Activate notification
-                anyActivated = true;
+                    // Activate notification
+                    anyActivated = true;
                 
-                // Play sound
-                if (!anySoundPlayed || Config.get().notifMode.equals(Config.NotifMode.ALL)) {
-                    anySoundPlayed = playSound(notif);
-                }
+                    // Play sound
+                    if (!anySoundPlayed || plan.notifMode.equals(Config.NotifMode.ALL)) {
+                        anySoundPlayed = playSound(plan, notif);
+                    }
                 
-                // Send response messages
-                Matcher subsMatcher = trig.type == Trigger.Type.REGEX ? matcher : null;
-                sendResponses(notif, subsMatcher);
+                    // Send response messages
+                    RegexMatcher subsMatcher = trig.type == Trigger.Type.REGEX ? matcher : null;
+                    sendResponses(notif, subsMatcher);
                 
-                // Restyle
-                msg = StyleUtil.restyle(msg, cleanStr, trig, matcher, notif.textStyle, restyleAll);
-
-                // Send custom messages, after restyle in case of forwarding
-                // the entire message. Reset match by subsMatcher.find(0)
-                showStatusBarMsg(notif, msg, subsMatcher);
-                showTitleMsg(notif, msg, subsMatcher);
-
-                // If replacement enabled, process
-                if (notif.replacementMsgEnabled) {
-                    msg = convertMsg(notif.replacementMsg, subsMatcher);
-                    String str = msg.getString();
-                    cleanStr = FormatUtil.stripCodes(str);
-                    cleanOwnedStr = cleanStr;
-
-                    // No other notifications can activate on a blank message
-                    if (str.isBlank()) return null;
-                }
+                    // Restyle
+                    msg = StyleUtil.restyle(msg, targets, notif.textStyle);
+
+                    // Send custom messages, after restyle in case of forwarding
+                    // the entire message. Reset match by subsMatcher.find(0)
+                    showStatusBarMsg(notif, msg, subsMatcher);
+                    showTitleMsg(notif, msg, subsMatcher);
+
+                    // If replacement enabled, process
+                    if (notif.replacementMsg != null) {
+                        msg = convertMsg(notif.replacementMsg, subsMatcher);
+                        String str = msg.getString();
+                        cleanStr = FormatUtil.stripCodes(str);
+                        cleanOwnedStr = cleanStr;
+                        foldedStr = NormalMatcher.fold(cleanStr);
+                        foldedOwnedStr = foldedStr;
+                        if (cached == null) {
+                            normalHits = searchNormal(plan, cleanOwnedStr, foldedOwnedStr);
+                            regexCandidates = searchRegex(plan, foldedStr);
+                        }
+
+                        // No other notifications can activate on a blank message
+                        if (str.isBlank()) return null;
+                    }
                 
-                break;
+                    break;
+                }
+            } catch (RegexTimeoutException e) {
+                recorder.invalidate();
+                onRegexOverrun(plan, notif, e);
             }
             // If only activating single, return early
-            if (anyActivated && Config.get().notifMode.equals(Config.NotifMode.SINGLE)) return msg;
+            if (anyActivated && plan.notifMode.equals(Config.NotifMode.SINGLE)) return msg;
         }
         return msg;
     }
 
+    // Warm-up
+
+    /**
+     * The number of times {@link MessageUtil#warmUp} processes each synthetic
+     * message.
+     */
+    private static final int WARM_UP_ROUNDS = 200;
+    /**
+     * The maximum number of synthetic messages used by 
+     * {@link MessageUtil#warmUp}.
+     */
+    private static final int WARM_UP_MESSAGES = 8;
+    /**
+     * The time after which {@link MessageUtil#warmUp} stops early, in
+     * nanoseconds.
+     */
+    private static final long WARM_UP_LIMIT_NANOS = 500_000_000L;
+
+    /**
+     * Repeatedly runs the search stage of the message processing algorithm
+     * over synthetic messages built from the triggers of the specified 
+     * {@link MatchPlan}, so that the first real message is not slowed by 
+     * class loading and interpretation.
+     *
+     * <p>Has no side effects; notifications are never activated, and only
+     * literal messages are used so no shared caches are modified. Restyling
+     * is not warmed up, as {@link StyleUtil} state is owned by the client 
+     * thread. May be invoked on any thread.</p>
+     * @param plan the {@link MatchPlan} to warm up.
+     */
+    public static void warmUp(MatchPlan plan) {
+        List<Component> messages = new ArrayList<>();
+        messages.add(Component.literal("<Player> Hello world!"));
+        messages.add(Component.literal("\u00a7e[Server] \u00a7rWelcome back, Player."));
+        for (CompiledTrigger trig : plan.normalTriggers) {
+            if (messages.size() >= WARM_UP_MESSAGES) break;
+            if (trig.string.isBlank()) continue;
+            messages.add(Component.empty()
+                    .append(Component.literal("<Player> ").withStyle(ChatFormatting.GRAY))
+                    .append(Component.literal("Hey " + trig.string + ", how are you?")));
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < WARM_UP_ROUNDS; i++) {
+            for (Component msg : messages) {
+                warmUp(plan, msg);
+            }
+            if (System.nanoTime() - start > WARM_UP_LIMIT_NANOS) break;
+        }
+        if (plan.debug) ChatNotify.LOG.warn("Warmed up message processing in {}ms", 
+                (System.nanoTime() - start) / 1000000);
+    }
+
+    private static void warmUp(MatchPlan plan, Component msg) {
+        String cleanStr = FormatUtil.stripCodes(msg.getString());
+        String foldedStr = NormalMatcher.fold(cleanStr);
+        boolean[] normalHits = plan.normalIndex.search(cleanStr, foldedStr);
+        boolean[] regexCandidates = plan.regexLiteralIndex.search(foldedStr);
+        for (CompiledNotif notif : plan.notifs) {
+            for (CompiledTrigger trig : notif.triggers) {
+                try {
+                    switch(trig.type) {
+                        case NORMAL -> {
+                            if (normalHits[trig.id]) {
+                                trig.normalMatcher(cleanStr, foldedStr).find();
+                            }
+                        }
+                        case REGEX -> {
+                            // Without a budget, a slow regex could stall the
+                            // warm-up indefinitely
+                            if (trig.pattern != null && regexCandidates[trig.id] 
+                                    && plan.regexBudgetNanos > 0) {
+                                trig.pattern.matcher(cleanStr, plan.regexBudgetNanos).find();
+                            }
+                        }
+                        case KEY -> keySearch(msg, trig.string);
+                    }
+                } catch (RegexTimeoutException ignored) {
+                    // Overruns are only recorded for real messages
+                }
+            }
+        }
+    }
+
+    /**
+     * Records a regex budget overrun by the specified {@link CompiledNotif}.
+     * @param plan the current {@link MatchPlan}.
+     * @param notif the {@link CompiledNotif}.
+     * @param e the exception thrown by the regex evaluation.
+     */
+    private static void onRegexOverrun(MatchPlan plan, CompiledNotif notif, 
+                                       RegexTimeoutException e) {
+        ChatNotify.LOG.warn("Regex '{}' exceeded time budget of {}us (notification {})", 
+                e.regex, plan.regexBudgetNanos / 1000, notif.index);
+        if (notif.source.recordRegexOverrun()) {
+            ChatNotify.LOG.warn("Disabled notification {} after {} regex budget overruns", 
+                    notif.index, notif.source.regexOverruns);
+        }
+    }
+
+    /**
+     * Finds all normal triggers of the {@link MatchPlan} whose string occurs
+     * in the message.
+     *
+     * <p><b>Note:</b> A hit is necessary but not sufficient for a match, as
+     * word boundaries are not checked for all triggers.</p>
+     * @param plan the current {@link MatchPlan}.
+     * @param str the string to search.
+     * @param foldedStr {@code str}, case-folded by {@link NormalMatcher#fold}.
+     * @return an array indexed by {@link CompiledTrigger#id}.
+     */
+    private static boolean[] searchNormal(MatchPlan plan, String str, String foldedStr) {
+        boolean[] hits = plan.normalIndex.search(str, foldedStr);
+        if (debug) {
+            for (int i = 0; i < hits.length; i++) {
+                if (hits[i]) {
+                    CompiledTrigger trig = plan.normalTriggers.get(i);
+                    ChatNotify.LOG.warn("Found '{}' (notification {}, trigger {})", 
+                            trig.string, trig.notifIndex, trig.index);
+                }
+            }
+        }
+        return hits;
+    }
+
+    /**
+     * Finds all regex triggers of the {@link MatchPlan} that could possibly
+     * match the message, by searching for their required literals.
+     *
+     * <p><b>Note:</b> A candidate is necessary but not sufficient for a match,
+     * as the regex itself is not checked.</p>
+     * @param plan the current {@link MatchPlan}.
+     * @param foldedStr the case-folded string to search.
+     * @return an array indexed by {@link CompiledTrigger#id}.
+     */
+    private static boolean[] searchRegex(MatchPlan plan, String foldedStr) {
+        boolean[] candidates = plan.regexLiteralIndex.search(foldedStr);
+        if (debug) {
+            for (int i = 0; i < candidates.length; i++) {
+                if (!candidates[i]) {
+                    CompiledTrigger trig = plan.regexTriggers.get(i);
+                    ChatNotify.LOG.warn("Skipping regex '{}' (notification {}, trigger {})", 
+                            trig.string, trig.notifIndex, trig.index);
+                }
+            }
+        }
+        return candidates;
+    }
+
     /**
      * Checks whether the key matches the message;
      * @param msg the message to search.
@@ -297,74 +624,40 @@ public class MessageUtil {
     }
 
     /**
-     * Performs a case-insensitive word-boundary search for the string within 
-     * the message.
-     * @param msg the message to search.
-     * @param str the string to search for.
-     * @return the {@link Matcher} for the search.
-     */
-    public static Matcher normalSearch(String msg, String str) {
-        /*
-        U flag for full Unicode comparison, performance using randomly-generated
-        100-character msg and 10-character str is approx 1.18 microseconds
-        per check without flag, 1.31 microseconds with.
-        
-        The word-boundary regex \b is a zero-width assertion that matches if 
-        there is \w on one side, and either there is \W on the other or the 
-        position is beginning or end of string. Thus, it cannot be used here as
-        it will fail to match for a trigger starting or ending in \W.
-         */
-        return Pattern.compile("(?iU)(?<!\\w)(\\W?)" + Pattern.quote(str) + "(\\W?)(?!\\w)")
-                .matcher(msg);
-    }
-
-    /**
-     * Plays the sound of the specified {@link Notification}, if enabled.
-     * @param notif the {@link Notification}.
+     * Requests the sound of the specified {@link CompiledNotif} from 
+     * {@link ChatNotify#soundDispatcher}, if enabled.
+     * @param notif the {@link CompiledNotif}.
      */
-    private static boolean playSound(Notification notif) {
-        if (notif.sound.isEnabled() && notif.sound.getVolume() > 0) {
-            ResourceLocation location = notif.sound.getResourceLocation();
-            if (location != null) {
-                Minecraft.getInstance().getSoundManager().play(new SimpleSoundInstance(
-                        notif.sound.getResourceLocation(), Config.get().soundSource,
-                        notif.sound.getVolume(), notif.sound.getPitch(),
-                        SoundInstance.createUnseededRandom(), false, 0,
-                        SoundInstance.Attenuation.NONE, 0, 0, 0, true));
-                return true;
-            }
+    private static boolean playSound(MatchPlan plan, CompiledNotif notif) {
+        if (notif.sound != null) {
+            ChatNotify.soundDispatcher.add(notif.id, notif.sound, plan.soundSource,
+                    notif.soundVolume, notif.soundPitch);
+            return true;
         }
         return false;
     }
 
     /**
      * Converts a custom message string into a {@link Component} for sending.
-     * @param msg the custom message string.
+     * @param msg the custom message template, with format codes converted.
      * @param matcher a regex matcher for capturing group substitution.
      * @return the message, converted and with all substitutions done.
      */
-    private static Component convertMsg(String msg, @Nullable Matcher matcher) {
-        // Replace $ with section sign
-        msg = msg.replaceAll(Matcher.quoteReplacement("$"), "\u00A7");
+    private static Component convertMsg(MessageTemplate msg, @Nullable RegexMatcher matcher) {
         // Substitute capturing groups
-        if (matcher != null && matcher.find(0)) {
-            for (int i = 0; i <= matcher.groupCount(); i++) {
-                String replacement = matcher.group(i) == null ? "" : matcher.group(i);
-                msg = msg.replaceAll("\\(" + i + "\\)", replacement);
-            }
-        }
-        return Component.literal(msg);
+        return Component.literal(msg.apply(matcher));
     }
 
     /**
-     * Displays the status bar message for the {@link Notification}, if enabled.
-     * @param notif the {@link Notification}.
+     * Displays the status bar message for the {@link CompiledNotif}, if 
+     * enabled.
+     * @param notif the {@link CompiledNotif}.
      * @param msg the original message.
-     * @param matcher the {@link Matcher} for the trigger, if a regex trigger
+     * @param matcher the {@link RegexMatcher} for the trigger, if a regex trigger
      *                was used, {@code null} otherwise.
      */
-    private static void showStatusBarMsg(Notification notif, Component msg, Matcher matcher) {
-        if (notif.statusBarMsgEnabled) {
+    private static void showStatusBarMsg(CompiledNotif notif, Component msg, RegexMatcher matcher) {
+        if (notif.statusBarMsg != null) {
             Component displayMsg = notif.statusBarMsg.isBlank()
                     ? msg
                     : convertMsg(notif.statusBarMsg, matcher);
@@ -373,14 +666,14 @@ public class MessageUtil {
     }
 
     /**
-     * Displays the title message for the {@link Notification}, if enabled.
-     * @param notif the {@link Notification}.
+     * Displays the title message for the {@link CompiledNotif}, if enabled.
+     * @param notif the {@link CompiledNotif}.
      * @param msg the original message.
-     * @param matcher the {@link Matcher} for the trigger, if a regex trigger
+     * @param matcher the {@link RegexMatcher} for the trigger, if a regex trigger
      *                was used, {@code null} otherwise.
      */
-    private static void showTitleMsg(Notification notif, Component msg, Matcher matcher) {
-        if (notif.titleMsgEnabled) {
+    private static void showTitleMsg(CompiledNotif notif, Component msg, RegexMatcher matcher) {
+        if (notif.titleMsg != null) {
             Component displayMsg = notif.titleMsg.isBlank()
                     ? msg
                     : convertMsg(notif.titleMsg, matcher);
@@ -389,27 +682,18 @@ public class MessageUtil {
     }
 
     /**
-     * Sends all response messages of the specified notification, if the
-     * relevant control is enabled.
-     * @param notif the Notification.
+     * Queues all response messages of the specified notification.
+     * @param notif the {@link CompiledNotif}.
      */
-    private static void sendResponses(Notification notif, @Nullable Matcher matcher) {
-        if (notif.responseEnabled) {
-            int totalDelay = 0;
-            for (ResponseMessage msg : notif.responseMessages) {
-                msg.sendingString = msg.string;
-                if (msg.type.equals(ResponseMessage.Type.REGEX) 
-                        && matcher != null && matcher.find(0)) {
-                    // Capturing group substitution
-                    for (int i = 0; i <= matcher.groupCount(); i++) {
-                        String replacement = matcher.group(i) == null ? "" : matcher.group(i);
-                        msg.sendingString = msg.sendingString.replaceAll("\\(" + i + "\\)", replacement);
-                    }
-                }
-                totalDelay += msg.delayTicks;
-                msg.countdown = totalDelay;
-                ChatNotify.responseMessages.add(msg);
-            }
+    private static void sendResponses(CompiledNotif notif, @Nullable RegexMatcher matcher) {
+        int totalDelay = 0;
+        for (CompiledNotif.Response response : notif.responses) {
+            // Capturing group substitution
+            String string = response.type.equals(ResponseMessage.Type.REGEX)
+                    ? response.template.apply(matcher)
+                    : response.template.string;
+            totalDelay += response.delayTicks;
+            ChatNotify.responseScheduler.schedule(response.type, string, totalDelay);
         }
     }
 }
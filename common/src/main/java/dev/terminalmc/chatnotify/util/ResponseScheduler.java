@@ -0,0 +1,84 @@
+/*
+ * Copyright 2025 TerminalMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.terminalmc.chatnotify.util;
+
+import dev.terminalmc.chatnotify.config.ResponseMessage;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Schedules activated response messages for sending, keyed on the absolute
+ * client tick on which each is due.
+ *
+ * <p>Jobs are held in a min-heap, so a tick on which nothing is due costs
+ * only a single peek. Jobs due on the same tick are released in the order
+ * they were scheduled.</p>
+ */
+public class ResponseScheduler {
+    private final PriorityQueue<Job> queue = new PriorityQueue<>(
+            Comparator.comparingLong(Job::dueTick).thenComparingLong(Job::seq));
+    private long tick = 0;
+    private long seq = 0;
+
+    /**
+     * An immutable response message, copied at activation.
+     * @param dueTick the tick on which the message is due to be sent.
+     * @param seq the order in which the message was scheduled.
+     * @param type the type of the message.
+     * @param string the message string, with all substitutions done.
+     */
+    public record Job(long dueTick, long seq, ResponseMessage.Type type, String string) {}
+
+    /**
+     * Schedules a message to be sent after the specified delay.
+     * @param type the type of the message.
+     * @param string the message string, with all substitutions done. Ignored
+     *               if blank.
+     * @param delayTicks the delay in ticks. Messages are sent no sooner than
+     *                   the next tick.
+     */
+    public void schedule(ResponseMessage.Type type, String string, int delayTicks) {
+        if (string.isBlank()) return;
+        queue.add(new Job(tick + Math.max(1, delayTicks), seq++, type, string));
+    }
+
+    /**
+     * Advances the scheduler by one tick.
+     * @return all jobs due on or before the new tick, in order.
+     */
+    public List<Job> tick() {
+        tick++;
+        Job next = queue.peek();
+        if (next == null || next.dueTick > tick) return List.of();
+        List<Job> due = new ArrayList<>();
+        while (next != null && next.dueTick <= tick) {
+            due.add(queue.poll());
+            next = queue.peek();
+        }
+        return due;
+    }
+
+    /**
+     * Discards all scheduled jobs.
+     */
+    public void clear() {
+        queue.clear();
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2025 TerminalMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.terminalmc.chatnotify.util;
+
+import dev.terminalmc.chatnotify.ChatNotify;
+import dev.terminalmc.chatnotify.config.Config;
+
+import java.util.*;
+
+/**
+ * Paces outgoing response messages using a token bucket per
+ * {@link Config.SendMode}, to avoid exceeding server spam limits when many
+ * responses are due at once.
+ *
+ * <p>Messages wait in a bounded queue. When the queue is full, the oldest
+ * message is dropped. A command identical to the last queued message is not
+ * queued again.</p>
+ */
+public class SendPacer {
+    /**
+     * The maximum number of messages waiting to be sent.
+     */
+    public static final int MAX_QUEUED = 64;
+
+    private final Deque<String> queue = new ArrayDeque<>();
+    private final Map<Config.SendMode, TokenBucket> buckets = 
+            new EnumMap<>(Config.SendMode.class);
+
+    /**
+     * Queues the specified message for sending.
+     */
+    public void add(String msg) {
+        // Coalesce identical consecutive commands
+        if (msg.startsWith("/") && msg.equals(queue.peekLast())) return;
+        if (queue.size() >= MAX_QUEUED) {
+            ChatNotify.LOG.warn("Response queue full, dropped '{}'", queue.pollFirst());
+        }
+        queue.addLast(msg);
+    }
+
+    /**
+     * Advances the pacer by one tick.
+     * @param mode the current {@link Config#sendMode}.
+     * @param interval {@link Config#sendInterval}, the number of ticks to
+     *                 refill one token, or {@code 0} for no limit.
+     * @param burst {@link Config#sendBurst}, the capacity of each bucket.
+     * @return the messages to send this tick, in order.
+     */
+    public List<String> tick(Config.SendMode mode, int interval, int burst) {
+        for (TokenBucket bucket : buckets.values()) {
+            bucket.refill(interval, burst);
+        }
+        if (queue.isEmpty()) return List.of();
+        
+        List<String> sending = new ArrayList<>();
+        if (interval == 0) {
+            sending.addAll(queue);
+            queue.clear();
+        } else {
+            TokenBucket bucket = buckets.computeIfAbsent(mode, (m) -> new TokenBucket(burst));
+            while (!queue.isEmpty() && bucket.tryTake()) {
+                sending.add(queue.pollFirst());
+            }
+        }
+        return sending;
+    }
+
+    /**
+     * Discards all queued messages and refills all buckets.
+     */
+    public void clear() {
+        queue.clear();
+        buckets.clear();
+    }
+
+    private static class TokenBucket {
+        private double tokens;
+
+        TokenBucket(int burst) {
+            this.tokens = burst;
+        }
+
+        void refill(int interval, int burst) {
+            tokens = interval == 0 ? burst : Math.min(burst, tokens + 1.0 / interval);
+        }
+
+        boolean tryTake() {
+            if (tokens < 1) return false;
+            tokens--;
+            return true;
+        }
+    }
+}
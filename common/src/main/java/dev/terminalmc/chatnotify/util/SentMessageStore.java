@@ -0,0 +1,115 @@
+/*
+ * Copyright 2025 TerminalMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.terminalmc.chatnotify.util;
+
+import dev.terminalmc.chatnotify.match.NormalMatcher;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Stores messages and commands recently sent by the client, for comparison
+ * with incoming messages to determine sender identity.
+ *
+ * <p>Entries are held in a fixed-capacity ring buffer, oldest first. Each
+ * expires {@link SentMessageStore#EXPIRY_NANOS} after it was added, as it can
+ * be assumed that it generated no matching return message. If the buffer is
+ * full, the oldest entry is overwritten. All times are taken from
+ * {@link System#nanoTime}.</p>
+ *
+ * <p>Each entry is case-folded by {@link NormalMatcher#fold} when it is
+ * added, so that it can be searched for in case-folded incoming messages 
+ * without further preparation.</p>
+ */
+public class SentMessageStore {
+    public static final int CAPACITY = 32;
+    public static final long EXPIRY_NANOS = 5_000_000_000L;
+
+    private final String[] messages = new String[CAPACITY];
+    private final String[] foldedMessages = new String[CAPACITY];
+    private final long[] expiries = new long[CAPACITY];
+    private int head = 0;
+    private int size = 0;
+
+    /**
+     * Adds a message, removing all expired entries.
+     * @param message the message string. Ignored if empty.
+     */
+    public void add(String message) {
+        long time = System.nanoTime();
+        expire(time);
+        if (message.isEmpty()) return;
+        if (size == CAPACITY) {
+            head = (head + 1) % CAPACITY;
+            size--;
+        }
+        int slot = (head + size) % CAPACITY;
+        messages[slot] = message;
+        foldedMessages[slot] = NormalMatcher.fold(message);
+        expiries[slot] = time + EXPIRY_NANOS;
+        size++;
+    }
+
+    /**
+     * Removes all expired entries.
+     */
+    public void expire() {
+        expire(System.nanoTime());
+    }
+
+    private void expire(long time) {
+        while (size > 0 && (foldedMessages[head] == null || expiries[head] - time < 0)) {
+            messages[head] = null;
+            foldedMessages[head] = null;
+            head = (head + 1) % CAPACITY;
+            size--;
+        }
+    }
+
+    /**
+     * @return the number of entries, including removed entries not yet
+     * discarded.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param i the position of the entry, oldest first.
+     * @return the message string of the entry, or {@code null} if removed.
+     */
+    public @Nullable String get(int i) {
+        return messages[(head + i) % CAPACITY];
+    }
+
+    /**
+     * @param i the position of the entry, oldest first.
+     * @return the case-folded message string of the entry, or {@code null} if 
+     * removed.
+     */
+    public @Nullable String getFolded(int i) {
+        return foldedMessages[(head + i) % CAPACITY];
+    }
+
+    /**
+     * Removes the entry at the specified position.
+     * @param i the position of the entry, oldest first.
+     */
+    public void remove(int i) {
+        int slot = (head + i) % CAPACITY;
+        messages[slot] = null;
+        foldedMessages[slot] = null;
+    }
+}
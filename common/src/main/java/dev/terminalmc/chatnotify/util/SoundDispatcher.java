@@ -0,0 +1,119 @@
+/*
+ * Copyright 2025 TerminalMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.terminalmc.chatnotify.util;
+
+import dev.terminalmc.chatnotify.ChatNotify;
+import net.minecraft.client.resources.sounds.SimpleSoundInstance;
+import net.minecraft.client.resources.sounds.SoundInstance;
+import net.minecraft.client.sounds.SoundManager;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.sounds.SoundSource;
+
+import java.util.*;
+
+/**
+ * Collects notification sounds requested during a tick, and plays them 
+ * together at the end of the tick, to avoid flooding the 
+ * {@link SoundManager} when many messages arrive at once.
+ *
+ * <p>Requests for the same sound within a tick are merged, keeping the 
+ * loudest. At most {@link SoundDispatcher#MAX_PER_TICK} sounds are played per
+ * tick, and a notification can have at most 
+ * {@link SoundDispatcher#MAX_PER_NOTIF} of its sounds playing at once. 
+ * Requests over either limit are dropped.</p>
+ */
+public class SoundDispatcher {
+    public static final int MAX_PER_TICK = 4;
+    public static final int MAX_PER_NOTIF = 2;
+
+    private final Map<ResourceLocation, Request> pending = new LinkedHashMap<>();
+    private final Map<String, List<SoundInstance>> playing = new HashMap<>();
+
+    /**
+     * Requests a sound to be played at the end of the tick.
+     * @param notifId the id of the requesting notification.
+     * @param sound the sound.
+     * @param source the sound source.
+     * @param volume the sound volume.
+     * @param pitch the sound pitch.
+     */
+    public void add(String notifId, ResourceLocation sound, SoundSource source, 
+                    float volume, float pitch) {
+        Request existing = pending.get(sound);
+        if (existing == null || volume > existing.volume()) {
+            pending.put(sound, new Request(notifId, sound, source, volume, pitch));
+        }
+    }
+
+    /**
+     * @return {@code true} if no sounds have been requested since the last
+     * tick, {@code false} otherwise.
+     */
+    public boolean isEmpty() {
+        return pending.isEmpty();
+    }
+
+    /**
+     * Plays the sounds requested since the last tick, within the limits.
+     * @param soundManager the {@link SoundManager} to play the sounds.
+     * @param debug whether to log dropped sounds.
+     */
+    public void tick(SoundManager soundManager, boolean debug) {
+        if (pending.isEmpty()) return;
+
+        // Forget sounds that have finished playing
+        for (List<SoundInstance> instances : playing.values()) {
+            instances.removeIf((instance) -> !soundManager.isActive(instance));
+        }
+
+        int played = 0;
+        int dropped = 0;
+        for (Request request : pending.values()) {
+            List<SoundInstance> instances = playing.computeIfAbsent(request.notifId(), 
+                    (id) -> new ArrayList<>());
+            if (played >= MAX_PER_TICK || instances.size() >= MAX_PER_NOTIF) {
+                dropped++;
+                continue;
+            }
+            SoundInstance instance = new SimpleSoundInstance(
+                    request.sound(), request.source(),
+                    request.volume(), request.pitch(),
+                    SoundInstance.createUnseededRandom(), false, 0,
+                    SoundInstance.Attenuation.NONE, 0, 0, 0, true);
+            soundManager.play(instance);
+            instances.add(instance);
+            played++;
+        }
+        pending.clear();
+        playing.values().removeIf(List::isEmpty);
+        
+        if (dropped > 0 && debug) {
+            ChatNotify.LOG.warn("Dropped {} notification sounds over limit", dropped);
+        }
+    }
+
+    /**
+     * Discards all requested sounds, and forgets all playing sounds.
+     */
+    public void clear() {
+        pending.clear();
+        playing.clear();
+    }
+
+    private record Request(String notifId, ResourceLocation sound, SoundSource source,
+                           float volume, float pitch) {}
+}
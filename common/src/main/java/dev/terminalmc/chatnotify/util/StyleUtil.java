@@ -17,112 +17,201 @@
 package dev.terminalmc.chatnotify.util;
 
 import dev.terminalmc.chatnotify.ChatNotify;
-import dev.terminalmc.chatnotify.config.Config;
 import dev.terminalmc.chatnotify.config.TextStyle;
 import dev.terminalmc.chatnotify.config.Trigger;
+import dev.terminalmc.chatnotify.match.CompiledTrigger;
+import dev.terminalmc.chatnotify.match.MatchPlan;
+import dev.terminalmc.chatnotify.match.NormalMatcher;
+import dev.terminalmc.chatnotify.match.RegexMatcher;
+import dev.terminalmc.chatnotify.match.RegexTimeoutException;
 import net.minecraft.network.chat.Component;
 import net.minecraft.network.chat.MutableComponent;
 import net.minecraft.network.chat.Style;
 import net.minecraft.network.chat.contents.PlainTextContents;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 public class StyleUtil {
     private static boolean debug = false;
     
-    public static Component restyle(Component msg, String cleanStr, Trigger trig, Matcher matcher,
-                                    TextStyle textStyle, boolean restyleAllInstances) {
-        debug = Config.get().debugMode == Config.DebugMode.ALL;
-        if (!textStyle.isEnabled()) return msg;
-        try {
-            // Convert message into a format suitable for recursive processing
-            msg = FormatUtil.convertToStyledLiteral(msg.copy());
-            if (debug) {
-                ChatNotify.LOG.warn("Converting message prior to initiating restyle");
-                ChatNotify.LOG.warn("Converted text:");
-                ChatNotify.LOG.warn(msg.getString());
-                ChatNotify.LOG.warn("Converted tree:");
-                ChatNotify.LOG.warn(msg.toString());
-            }
+    /**
+     * Restyles the message according to the trigger and its style target.
+     * 
+     * <p>Equivalent to {@link StyleUtil#findTargets} followed by 
+     * {@link StyleUtil#restyle(Component, Targets, TextStyle)}.</p>
+     * @param msg the message to restyle.
+     * @param cleanStr the message string, with all format codes removed.
+     * @param foldedStr {@code cleanStr}, case-folded by 
+     *                  {@link NormalMatcher#fold}.
+     * @param trig the activated trigger.
+     * @param normalMatcher the {@link NormalMatcher} for the trigger, if a 
+     *                      normal trigger was used, {@code null} otherwise.
+     * @param matcher the {@link RegexMatcher} for the trigger, if a regex trigger
+     *                was used, {@code null} otherwise.
+     * @param textStyle the {@link TextStyle} to apply.
+     * @param restyleAllInstances whether to restyle all instances of the 
+     *                            target, or only the first.
+     * @param plan the {@link MatchPlan} providing the debug mode and regex
+     *             budget.
+     * @return the restyled message.
+     */
+    public static Component restyle(Component msg, String cleanStr, String foldedStr,
+                                    CompiledTrigger trig, @Nullable NormalMatcher normalMatcher,
+                                    @Nullable RegexMatcher matcher, TextStyle textStyle, 
+                                    boolean restyleAllInstances, MatchPlan plan) {
+        return restyle(msg, findTargets(cleanStr, foldedStr, trig, normalMatcher, matcher, 
+                textStyle, restyleAllInstances, plan), textStyle);
+    }
 
-            // Restyle, using style string if possible
-            boolean restyled = false;
-            if (trig.styleTarget.enabled && !trig.styleTarget.string.isBlank()) {
-                switch(trig.styleTarget.type) {
-                    case NORMAL -> {
-                        Matcher m = styleSearch(cleanStr, trig.styleTarget.string);
+    /**
+     * The parts of a message to restyle.
+     * @param ranges the target ranges, each the starting index of a string to
+     *               restyle and the index after its end.
+     * @param root whether to restyle the root style of the message.
+     */
+    public record Targets(List<int[]> ranges, boolean root) {}
+
+    /**
+     * Finds the parts of the message to restyle according to the trigger and
+     * its style target, using the style target if possible.
+     *
+     * <p>Does not modify the message, so can be used to complete any regex
+     * searches (which may throw {@link RegexTimeoutException}) before other
+     * activation work.</p>
+     * @param cleanStr the message string, with all format codes removed.
+     * @param foldedStr {@code cleanStr}, case-folded by 
+     *                  {@link NormalMatcher#fold}.
+     * @param trig the activated trigger.
+     * @param normalMatcher the {@link NormalMatcher} for the trigger, if a 
+     *                      normal trigger was used, {@code null} otherwise.
+     * @param matcher the {@link RegexMatcher} for the trigger, if a regex trigger
+     *                was used, {@code null} otherwise.
+     * @param textStyle the {@link TextStyle} to apply.
+     * @param restyleAllInstances whether to restyle all instances of the 
+     *                            target, or only the first.
+     * @param plan the {@link MatchPlan} providing the debug mode and regex
+     *             budget.
+     * @return the targets, or {@code null} if the {@link TextStyle} is 
+     * disabled.
+     */
+    public static @Nullable Targets findTargets(String cleanStr, String foldedStr,
+                                                CompiledTrigger trig, 
+                                                @Nullable NormalMatcher normalMatcher,
+                                                @Nullable RegexMatcher matcher, 
+                                                TextStyle textStyle,
+                                                boolean restyleAllInstances,
+                                                MatchPlan plan) {
+        debug = plan.debug;
+        if (!textStyle.isEnabled()) return null;
+
+        // Collect target ranges, using style string if possible
+        List<int[]> ranges = new ArrayList<>();
+        boolean restyled = false;
+        boolean root = false;
+        if (trig.styleTarget != null) {
+            switch(trig.styleTarget.type) {
+                case NORMAL -> {
+                    // Case-insensitive substring search
+                    String target = trig.styleTarget.foldedString;
+                    int start = foldedStr.indexOf(target);
+                    if (start != -1) {
+                        restyled = true;
+                        do {
+                            int end = start + target.length();
+                            ranges.add(new int[]{start, end});
+                            start = foldedStr.indexOf(target, end);
+                        } while (restyleAllInstances && start != -1);
+                    }
+                }
+                case REGEX -> {
+                    if (trig.styleTarget.pattern != null) {
+                        RegexMatcher m = trig.styleTarget.pattern.matcher(cleanStr,
+                                plan.regexBudgetNanos);
                         if (m.find()) {
                             restyled = true;
                             do {
-                                msg = restyleLeaves(msg, textStyle, m.start(), m.end());
+                                ranges.add(new int[]{m.start(), m.end()});
                             } while (restyleAllInstances && m.find());
                         }
                     }
-                    case REGEX -> {
-                        if (trig.styleTarget.pattern != null) {
-                            Matcher m = trig.styleTarget.pattern.matcher(cleanStr);
-                            if (m.find()) {
+                }
+                case CAPTURING -> {
+                    if (trig.type == Trigger.Type.REGEX && matcher != null 
+                            && matcher.groupCount() >= 1) {
+                        for (int i = 1; i <= matcher.groupCount(); i++) {
+                            if (trig.styleTarget.groupIndexes.contains(i)) {
                                 restyled = true;
-                                do {
-                                    msg = restyleLeaves(msg, textStyle, m.start(), m.end());
-                                } while (restyleAllInstances && m.find());
-                            }
-                        }
-                    }
-                    case CAPTURING -> {
-                        if (trig.type == Trigger.Type.REGEX && matcher.groupCount() >= 1) {
-                            for (int i = 1; i <= matcher.groupCount(); i++) {
-                                if (trig.styleTarget.groupIndexes.contains(i)) {
-                                    restyled = true;
-                                    msg = restyleLeaves(msg, textStyle, 
-                                            matcher.start(i), matcher.end(i));
-                                }
+                                ranges.add(new int[]{matcher.start(i), matcher.end(i)});
                             }
                         }
                     }
                 }
             }
-            // If style string not usable, attempt to restyle trigger
-            if (!restyled) {
-                if (debug) {
+        }
+        // If style string not usable, attempt to restyle trigger
+        if (!restyled) {
+            if (debug) {
+                if (trig.styleTarget != null) {
                     ChatNotify.LOG.warn("Style target '{}' (type {})",
                             trig.styleTarget.string, trig.styleTarget.type);
-                    ChatNotify.LOG.warn("Defaulting to trigger restyle");
                 }
-                switch(trig.type) {
-                    case NORMAL -> {
-                        do {
-                            msg = restyleLeaves(msg, textStyle,
-                                    matcher.start() + matcher.group(1).length(),
-                                    matcher.end() - matcher.group(2).length());
-                        } while (restyleAllInstances && matcher.find());
-                    }
-                    case REGEX -> {
-                        do {
-                            msg = restyleLeaves(msg, textStyle, matcher.start(), matcher.end());
-                        } while (restyleAllInstances && matcher.find());
-                    }
-                    case KEY -> msg = restyleRoot(msg, textStyle);
+                ChatNotify.LOG.warn("Defaulting to trigger restyle");
+            }
+            switch(trig.type) {
+                case NORMAL -> {
+                    if (normalMatcher == null) break;
+                    do {
+                        ranges.add(new int[]{
+                                normalMatcher.innerStart(), normalMatcher.innerEnd()});
+                    } while (restyleAllInstances && normalMatcher.find());
                 }
+                case REGEX -> {
+                    if (matcher == null) break;
+                    do {
+                        ranges.add(new int[]{matcher.start(), matcher.end()});
+                    } while (restyleAllInstances && matcher.find());
+                }
+                case KEY -> root = true;
             }
-        } catch (IllegalArgumentException e) {
-            if (debug) ChatNotify.LOG.warn("Restyle error", e);
         }
-        return msg;
+        return new Targets(ranges, root);
     }
 
     /**
-     * Performs a case-insensitive substring search for the string within the 
-     * message.
-     * @param msg the message to search.
-     * @param str the string to search for.
-     * @return the {@link Matcher} for the search.
+     * Restyles the specified parts of the message.
+     * @param msg the message to restyle.
+     * @param targets the parts of the message to restyle, from 
+     *                {@link StyleUtil#findTargets}, or {@code null} to leave
+     *                the message unchanged.
+     * @param textStyle the {@link TextStyle} to apply.
+     * @return the restyled message.
      */
-    public static Matcher styleSearch(String msg, String str) {
-        return Pattern.compile("(?iU)" + Pattern.quote(str)).matcher(msg);
+    public static Component restyle(Component msg, @Nullable Targets targets, 
+                                    TextStyle textStyle) {
+        if (targets == null) return msg;
+        try {
+            // Convert message into a format suitable for recursive processing
+            msg = FormatUtil.convertToStyledLiteral(msg.copy());
+            if (debug) {
+                ChatNotify.LOG.warn("Converting message prior to initiating restyle");
+                ChatNotify.LOG.warn("Converted text:");
+                ChatNotify.LOG.warn(msg.getString());
+                ChatNotify.LOG.warn("Converted tree:");
+                ChatNotify.LOG.warn(msg.toString());
+            }
+
+            if (targets.root()) msg = restyleRoot(msg, textStyle);
+
+            // Restyle all ranges in a single traversal
+            msg = restyleLeaves(msg, textStyle, targets.ranges());
+        } catch (IllegalArgumentException e) {
+            if (debug) ChatNotify.LOG.warn("Restyle error", e);
+        }
+        return msg;
     }
 
     /**
@@ -138,79 +227,136 @@ public class StyleUtil {
 
     /**
      * Uses a recursive traversal algorithm to apply the specified style to 
-     * only the specified part of the message.
+     * only the specified parts of the message.
      * @param msg the message to restyle.
      * @param style the {@link TextStyle} to apply.
-     * @param start the starting index of the string to restyle.
-     * @param end the index after the end of the string to restyle.
+     * @param ranges the target ranges, each the starting index of a string to
+     *               restyle and the index after its end. Need not be ordered,
+     *               and may overlap.
      * @return the restyled message.
      */
-    private static Component restyleLeaves(Component msg, TextStyle style, int start, int end) {
-        return recursiveRestyle(msg.copy(), style, start, end, 0);
+    private static Component restyleLeaves(Component msg, TextStyle style, List<int[]> ranges) {
+        int[] merged = mergeRanges(ranges);
+        if (merged.length == 0) return msg;
+        if (debug) ChatNotify.LOG.warn("restyleLeaves({})", Arrays.toString(merged));
+        return new LeafRestyler(TextIndex.of(msg), style.getStyle(), merged).restyle(0);
     }
 
     /**
-     * Recursive traversal restyling algorithm.
+     * Sorts the specified ranges and merges those that overlap or are
+     * adjacent, discarding empty ranges.
+     * @return the merged ranges, as a flat array of start and end indexes.
+     */
+    private static int[] mergeRanges(List<int[]> ranges) {
+        List<int[]> sorted = new ArrayList<>(ranges.size());
+        for (int[] range : ranges) {
+            if (range[0] >= 0 && range[1] > range[0]) sorted.add(range);
+        }
+        sorted.sort(Comparator.comparingInt((range) -> range[0]));
+        int[] merged = new int[sorted.size() * 2];
+        int size = 0;
+        for (int[] range : sorted) {
+            if (size > 0 && range[0] <= merged[size - 1]) {
+                merged[size - 1] = Math.max(merged[size - 1], range[1]);
+            } else {
+                merged[size++] = range[0];
+                merged[size++] = range[1];
+            }
+        }
+        return Arrays.copyOf(merged, size);
+    }
+
+    /**
+     * Single-pass recursive traversal restyling algorithm.
+     *
+     * <p>Each text leaf overlapping a target range is split into the parts
+     * before, within and after each range, with the parts within the range 
+     * restyled. Subtrees containing no part of any range are located by their
+     * {@link TextIndex} range and reused rather than traversed or copied.</p>
      *
      * <p><b>Note:</b> Unable to process format codes or translatable 
      * components, use {@link FormatUtil#convertToStyledLiteral} prior to 
      * invoking this method.</p>
-     *
-     * @param msg the message to restyle.
-     * @param style the style to apply.
-     * @param start the root string index of the first character in the target substring.
-     * @param end the root string index of the last character in the target substring, plus one.
-     * @param index the index of the start of {@code msg} in the root string.
-     * @return the message, restyled if applicable.
      */
-    private static MutableComponent recursiveRestyle(MutableComponent msg, TextStyle style,
-                                                     int start, int end, int index) {
-        if (debug) ChatNotify.LOG.warn("recursiveRestyle('{}', {}, {}, {})",
-                msg.getString(), start, end, index);
-
-        // Detach siblings
-        List<Component> oldSiblings = new ArrayList<>(msg.getSiblings());
-        msg.getSiblings().clear();
-
-        // Restyle contents
-        if (msg.getContents() instanceof PlainTextContents contents) {
-            if (debug) ChatNotify.LOG.warn("PlainTextContents");
-            String str = contents.text();
-            if (index + str.length() >= start && index < end) {
-                // Target string overlaps with current substring, so restyle
-                // by splitting into 3 components; before, target, and after
-                Style oldStyle = msg.getStyle();
-                msg = Component.empty().withStyle(oldStyle);
-
-                int localStart = Math.max(0, start - index);
-                int localEnd = Math.min(str.length(), end - index);
-
-                String part1 = str.substring(0, localStart);
-                if (!part1.isEmpty()) msg.append(Component.literal(part1));
-
-                String part2 = str.substring(localStart, localEnd);
-                if (!part2.isEmpty()) msg.append(
-                        Component.literal(part2).withStyle(style.getStyle()));
-
-                String part3 = str.substring(localEnd);
-                if (!part3.isEmpty()) msg.append(Component.literal(part3));
-            }
-            index += str.length();
+    private static class LeafRestyler {
+        private final TextIndex index;
+        private final Style style;
+        private final int[] ranges;
+        /**
+         * The index of the first range not yet entirely restyled, multiplied
+         * by 2.
+         */
+        private int range = 0;
+
+        LeafRestyler(TextIndex index, Style style, int[] ranges) {
+            this.index = index;
+            this.style = style;
+            this.ranges = ranges;
         }
 
-        // Recurse for original siblings and re-attach
-        List<Component> siblings = msg.getSiblings();
-        for (Component sibling : oldSiblings) {
-            String str = sibling.getString();
-            if (index + str.length() >= start && index < end) {
-                siblings.add(recursiveRestyle(sibling.copy(), style, start, end, index));
-            } else {
-                siblings.add(sibling);
+        /**
+         * @param node the {@link TextIndex} node to restyle.
+         * @return the component, restyled if applicable, or the original
+         * component if no part of it was restyled.
+         */
+        Component restyle(int node) {
+            Component msg = index.node(node);
+            
+            // Skip ranges ending before this node, for example within the 
+            // contents of a non-text node
+            int start = index.start(node);
+            while (range < ranges.length && ranges[range + 1] <= start) range += 2;
+            
+            // No range overlaps this subtree, nothing to do
+            if (range == ranges.length || ranges[range] >= index.end(node)) return msg;
+
+            // Restyle contents
+            MutableComponent restyled = null;
+            int contentEnd = index.contentEnd(node);
+            if (msg.getContents() instanceof PlainTextContents contents 
+                    && ranges[range] < contentEnd) {
+                String str = contents.text();
+                restyled = Component.empty().withStyle(msg.getStyle());
+                int pos = 0;
+                while (range < ranges.length && ranges[range] < contentEnd) {
+                    int localStart = Math.max(pos, ranges[range] - start);
+                    int localEnd = Math.min(str.length(), ranges[range + 1] - start);
+                    if (localStart > pos) {
+                        restyled.append(Component.literal(str.substring(pos, localStart)));
+                    }
+                    restyled.append(Component.literal(str.substring(localStart, localEnd))
+                            .withStyle(style));
+                    pos = localEnd;
+                    if (ranges[range + 1] > contentEnd) break; // Continues in next leaf
+                    range += 2;
+                }
+                if (pos < str.length()) {
+                    restyled.append(Component.literal(str.substring(pos)));
+                }
             }
-            index += str.length();
-        }
 
-        return msg;
+            // Recurse for siblings, copying only if any are restyled
+            List<Component> siblings = msg.getSiblings();
+            List<Component> newSiblings = null;
+            int child = node + 1;
+            for (int i = 0; i < siblings.size(); i++) {
+                Component sibling = siblings.get(i);
+                Component newSibling = restyle(child);
+                if (newSiblings == null && newSibling != sibling) {
+                    newSiblings = new ArrayList<>(siblings.subList(0, i));
+                }
+                if (newSiblings != null) newSiblings.add(newSibling);
+                child = index.next(child);
+            }
+
+            if (restyled == null) {
+                if (newSiblings == null) return msg;
+                restyled = msg.copy();
+                restyled.getSiblings().clear();
+            }
+            restyled.getSiblings().addAll(newSiblings != null ? newSiblings : siblings);
+            return restyled;
+        }
     }
 
     /**
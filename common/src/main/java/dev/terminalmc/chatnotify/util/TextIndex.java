@@ -0,0 +1,165 @@
+/*
+ * Copyright 2025 TerminalMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.terminalmc.chatnotify.util;
+
+import net.minecraft.network.chat.Component;
+import net.minecraft.network.chat.contents.PlainTextContents;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * An index mapping ranges of the flattened string of a {@link Component} tree
+ * to the nodes of the tree.
+ *
+ * <p>Built by a single traversal, after which the string range of any subtree
+ * is known without calling {@link Component#getString()} or building the
+ * string.</p>
+ *
+ * <p>Nodes are identified by their position in a pre-order traversal of the
+ * tree, so the root is node {@code 0}, the first child of a node is the node
+ * after it, and its next sibling is {@link TextIndex#next}.</p>
+ */
+public class TextIndex {
+    private final Component[] nodes;
+    /**
+     * The string index of the start of the contents of each node.
+     */
+    private final int[] starts;
+    /**
+     * The string index after the end of the contents of each node.
+     */
+    private final int[] contentEnds;
+    /**
+     * The string index after the end of the subtree of each node.
+     */
+    private final int[] ends;
+    /**
+     * The node after the end of the subtree of each node.
+     */
+    private final int[] nexts;
+
+    private TextIndex(List<Component> nodes, int[] starts, int[] contentEnds,
+                      int[] ends, int[] nexts) {
+        this.nodes = nodes.toArray(new Component[0]);
+        this.starts = starts;
+        this.contentEnds = contentEnds;
+        this.ends = ends;
+        this.nexts = nexts;
+    }
+
+    /**
+     * Indexes the specified {@link Component} tree.
+     */
+    public static TextIndex of(Component msg) {
+        Builder builder = new Builder();
+        builder.visit(msg);
+        int size = builder.nodes.size();
+        return new TextIndex(builder.nodes,
+                builder.starts.toArray(size), builder.contentEnds.toArray(size),
+                builder.ends.toArray(size), builder.nexts.toArray(size));
+    }
+
+    public Component node(int node) {
+        return nodes[node];
+    }
+
+    /**
+     * @return the string index of the start of the node.
+     */
+    public int start(int node) {
+        return starts[node];
+    }
+
+    /**
+     * @return the string index after the end of the contents of the node,
+     * excluding its siblings.
+     */
+    public int contentEnd(int node) {
+        return contentEnds[node];
+    }
+
+    /**
+     * @return the string index after the end of the node, including its
+     * siblings.
+     */
+    public int end(int node) {
+        return ends[node];
+    }
+
+    /**
+     * @return the node after the end of the subtree of the node. For the
+     * child of a node, this is its next sibling if it has one.
+     */
+    public int next(int node) {
+        return nexts[node];
+    }
+
+    private static class Builder {
+        /**
+         * The length of the flattened string visited so far.
+         */
+        private int length = 0;
+        private final List<Component> nodes = new ArrayList<>();
+        private final IntList starts = new IntList();
+        private final IntList contentEnds = new IntList();
+        private final IntList ends = new IntList();
+        private final IntList nexts = new IntList();
+
+        private void visit(Component msg) {
+            int node = nodes.size();
+            nodes.add(msg);
+            starts.add(length);
+            if (msg.getContents() instanceof PlainTextContents contents) {
+                length += contents.text().length();
+            } else {
+                msg.getContents().visit((str) -> {
+                    length += str.length();
+                    return Optional.empty();
+                });
+            }
+            contentEnds.add(length);
+            ends.add(0);
+            nexts.add(0);
+            for (Component sibling : msg.getSiblings()) {
+                visit(sibling);
+            }
+            ends.set(node, length);
+            nexts.set(node, nodes.size());
+        }
+    }
+
+    private static class IntList {
+        private int[] values = new int[16];
+        private int size = 0;
+
+        private void add(int value) {
+            if (size == values.length) values = Arrays.copyOf(values, size * 2);
+            values[size++] = value;
+        }
+
+        private void set(int index, int value) {
+            values[index] = value;
+        }
+
+        private int[] toArray(int size) {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
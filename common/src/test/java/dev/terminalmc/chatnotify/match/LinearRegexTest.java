@@ -0,0 +1,258 @@
+/*
+ * Copyright 2025 TerminalMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.terminalmc.chatnotify.match;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks {@link LinearRegex} against {@link Pattern}, which it must match
+ * exactly for every regex it accepts.
+ */
+class LinearRegexTest {
+    private static final long SEED = 0x5EEDL;
+    private static final int FUZZ_REGEXES = 20000;
+    private static final int FUZZ_INPUTS = 8;
+
+    /**
+     * Code points chosen for awkward case mappings, word-char status and
+     * surrogate pairs.
+     */
+    private static final int[] ALPHABET = {
+            'a', 'b', 'k', 's', 'A', 'B', 'K', 'S', '1', '_', ' ', '.', '-', '\n',
+            0xB5, 0xDF, 0xE9, 0xC9, 0xFF, 0x178, 0x17F, 0x212A, 0x1E9E,
+            0x44F, 0x42F, 0x3A3, 0x3C3, 0x3C2, 0x20AC, 0x1F600, 0x10428, 0x10400,
+    };
+
+    private static final String[] FLAGS = {"", "(?i)", "(?iu)", "(?s)", "(?m)", "(?u)"};
+
+    @Test
+    void classMembersAboveLatin1() {
+        assertSameMatches("[я]", "Я я");
+        assertSameMatches("[ёЁ]+", "ёЁе");
+        assertSameMatches("[Σσ]", "ςσΣ");
+        assertSameMatches("[a€]", "b€a");
+        assertSameMatches("[😀]", "a😀b");
+        assertSameMatches("(?i)[я]", "Я я");
+        assertSameMatches("(?iu)[€я]", "€Я");
+        assertSameMatches("[^я]", "яЯ");
+    }
+
+    @Test
+    void noEmptyMatchInsideSurrogatePair() {
+        assertSameMatches("[😀a]?", "😀a😀");
+        assertSameMatches("x?", "😀😀");
+        assertSameMatches("\\b", "😀a😀");
+    }
+
+    @Test
+    void caseInsensitiveLiterals() {
+        assertSameMatches("(?i)k", "kKK");
+        assertSameMatches("(?iu)k", "kKK");
+        assertSameMatches("(?iu)ß", "ßẞ");
+        assertSameMatches("(?iu)ẞ", "ßẞ");
+        assertSameMatches("(?iu)[s]", "sSſ");
+    }
+
+    @Test
+    void quantifiersAndGroups() {
+        assertSameMatches("(a|ab)(c|bcd)(d*)", "abcd");
+        assertSameMatches("(a+?)(b*)", "aaabbb");
+        assertSameMatches("(a{2,3})+", "aaaaaaa");
+        assertSameMatches("(?:a|(b))*b", "aabbb");
+        assertSameMatches("^(\\w+)\\s(\\w+)$", "hello world");
+        assertSameMatches("(?m)^a$", "a\na\nb");
+    }
+
+    @Test
+    void unsupportedSyntax() {
+        assertNull(LinearRegex.tryCompile("(a)\\1"));
+        assertNull(LinearRegex.tryCompile("a(?=b)"));
+        assertNull(LinearRegex.tryCompile("(?<!a)b"));
+        assertNull(LinearRegex.tryCompile("(?>a)"));
+        assertNull(LinearRegex.tryCompile("a++"));
+        assertNull(LinearRegex.tryCompile("\\p{L}"));
+        assertNull(LinearRegex.tryCompile("[a[b]]"));
+        assertNull(LinearRegex.tryCompile("[a&&b]"));
+        assertNull(LinearRegex.tryCompile("(?:a|())*b"));
+    }
+
+    @Test
+    void requiredLiterals() {
+        assertEquals(List.of("hello"), LinearRegex.requiredLiterals("(?i)Hello"));
+        assertEquals(List.of(), LinearRegex.requiredLiterals("a*"));
+        assertEquals(List.of(), LinearRegex.requiredLiterals("(a)\\1"));
+        List<String> alt = LinearRegex.requiredLiterals("foo|bar");
+        assertEquals(2, alt.size());
+        assertTrue(alt.contains("foo") && alt.contains("bar"));
+    }
+
+    @Test
+    void fuzzAgainstPattern() {
+        Random random = new Random(SEED);
+        int compiled = 0;
+        for (int i = 0; i < FUZZ_REGEXES; i++) {
+            String regex = FLAGS[random.nextInt(FLAGS.length)] + randomRegex(random, 3);
+            try {
+                Pattern.compile(regex);
+            } catch (PatternSyntaxException e) {
+                continue;
+            }
+            LinearRegex linear = LinearRegex.tryCompile(regex);
+            if (linear == null) continue;
+            compiled++;
+            List<String> literals = LinearRegex.requiredLiterals(regex);
+            for (int j = 0; j < FUZZ_INPUTS; j++) {
+                String input = randomString(random, 12);
+                assertSameMatches(regex, input);
+                if (!literals.isEmpty() && Pattern.compile(regex).matcher(input).find()) {
+                    String folded = NormalMatcher.fold(input);
+                    assertTrue(literals.stream().anyMatch(folded::contains),
+                            () -> "No required literal " + literals + " of "
+                                    + describe(regex, input) + " in folded input");
+                }
+            }
+        }
+        // Guard against the generator drifting into mostly unsupported syntax
+        assertTrue(compiled > FUZZ_REGEXES / 4, "Only compiled " + compiled);
+    }
+
+    // Utilities
+
+    private static void assertSameMatches(String regex, String input) {
+        LinearRegex linear = LinearRegex.tryCompile(regex);
+        assertNotNull(linear, () -> "Failed to compile " + describe(regex, input));
+        assertEquals(javaMatches(regex, input), linearMatches(linear, input),
+                () -> describe(regex, input));
+    }
+
+    private static List<String> javaMatches(String regex, String input) {
+        List<String> matches = new ArrayList<>();
+        Matcher matcher = Pattern.compile(regex).matcher(input);
+        while (matcher.find()) {
+            StringBuilder sb = new StringBuilder();
+            for (int g = 0; g <= matcher.groupCount(); g++) {
+                sb.append(matcher.start(g)).append(',').append(matcher.end(g)).append(';');
+            }
+            matches.add(sb.toString());
+        }
+        return matches;
+    }
+
+    private static List<String> linearMatches(LinearRegex regex, String input) {
+        List<String> matches = new ArrayList<>();
+        RegexMatcher matcher = regex.matcher(input);
+        while (matcher.find()) {
+            StringBuilder sb = new StringBuilder();
+            for (int g = 0; g <= matcher.groupCount(); g++) {
+                sb.append(matcher.start(g)).append(',').append(matcher.end(g)).append(';');
+            }
+            matches.add(sb.toString());
+        }
+        return matches;
+    }
+
+    private static String describe(String regex, String input) {
+        return "regex " + escape(regex) + " on input " + escape(input);
+    }
+
+    private static String escape(String str) {
+        StringBuilder sb = new StringBuilder("\"");
+        str.codePoints().forEach((cp) -> {
+            if (cp >= 0x20 && cp < 0x7F) sb.appendCodePoint(cp);
+            else sb.append(String.format("\\x{%X}", cp));
+        });
+        return sb.append('"').toString();
+    }
+
+    private static String randomString(Random random, int maxLength) {
+        StringBuilder sb = new StringBuilder();
+        int length = random.nextInt(maxLength + 1);
+        for (int i = 0; i < length; i++) {
+            sb.appendCodePoint(ALPHABET[random.nextInt(ALPHABET.length)]);
+        }
+        return sb.toString();
+    }
+
+    private static String randomRegex(Random random, int depth) {
+        StringBuilder sb = new StringBuilder();
+        int length = 1 + random.nextInt(4);
+        for (int i = 0; i < length; i++) {
+            sb.append(randomAtom(random, depth));
+            switch(random.nextInt(10)) {
+                case 0 -> sb.append('*');
+                case 1 -> sb.append('+');
+                case 2 -> sb.append('?');
+                case 3 -> sb.append("{1,2}");
+                case 4 -> sb.append("*?");
+                case 5 -> sb.append("??");
+                default -> {}
+            }
+        }
+        if (depth > 0 && random.nextInt(5) == 0) {
+            sb.append('|').append(randomRegex(random, depth - 1));
+        }
+        return sb.toString();
+    }
+
+    private static String randomAtom(Random random, int depth) {
+        return switch(random.nextInt(depth > 0 ? 9 : 7)) {
+            case 0, 1 -> literal(ALPHABET[random.nextInt(ALPHABET.length)]);
+            case 2 -> randomClass(random);
+            case 3 -> new String[]{"\\w", "\\W", "\\d", "\\s", "\\S", "."}[random.nextInt(6)];
+            case 4 -> new String[]{"^", "$", "\\b", "\\B", "\\A", "\\z"}[random.nextInt(6)];
+            case 5 -> new String[]{"(?i)", "(?-i)", "(?u)", "(?s)"}[random.nextInt(4)];
+            case 6 -> literal(ALPHABET[random.nextInt(ALPHABET.length)])
+                    + literal(ALPHABET[random.nextInt(ALPHABET.length)]);
+            case 7 -> "(" + randomRegex(random, depth - 1) + ")";
+            default -> "(?:" + randomRegex(random, depth - 1) + ")";
+        };
+    }
+
+    private static String randomClass(Random random) {
+        StringBuilder sb = new StringBuilder("[");
+        if (random.nextInt(4) == 0) sb.append('^');
+        int items = 1 + random.nextInt(3);
+        for (int i = 0; i < items; i++) {
+            switch(random.nextInt(4)) {
+                case 0 -> sb.append("\\w");
+                case 1 -> {
+                    int lower = ALPHABET[random.nextInt(ALPHABET.length)];
+                    int upper = ALPHABET[random.nextInt(ALPHABET.length)];
+                    sb.append(literal(Math.min(lower, upper))).append('-')
+                            .append(literal(Math.max(lower, upper)));
+                }
+                default -> sb.append(literal(ALPHABET[random.nextInt(ALPHABET.length)]));
+            }
+        }
+        return sb.append(']').toString();
+    }
+
+    private static String literal(int cp) {
+        if (cp == '\n') return "\\n";
+        if (cp == '.' || cp == '-') return "\\" + (char)cp;
+        return Character.toString(cp);
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright 2025 TerminalMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.terminalmc.chatnotify.match;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks {@link NormalMatcher} against the regex it replaces.
+ */
+class NormalMatcherTest {
+    private static final long SEED = 0x5EEDL;
+    private static final int FUZZ_TRIGGERS = 20000;
+    private static final int FUZZ_INPUTS = 8;
+
+    /**
+     * Word and non-word code points, with awkward case mappings and
+     * surrogate pairs.
+     */
+    private static final int[] ALPHABET = {
+            'a', 'b', 'k', 's', 'A', 'K', 'S', '1', '_', ' ', '.', '-', '!',
+            0xB5, 0xDF, 0xE9, 0xC9, 0xFF, 0x178, 0x17F, 0x130, 0x131, 0x212A, 0x1E9E,
+            0x44F, 0x42F, 0x3C3, 0x3C2, 0x200D, 0x20AC, 0x1F600, 0x10428, 0x10400,
+    };
+
+    @Test
+    void wordBoundaries() {
+        assertSameMatches("cat", "cat concat cats cat.");
+        assertSameMatches("cat", "(cat) -cat- cat!!");
+        assertSameMatches("!", "a! b ! !! c!d");
+        assertSameMatches(".cat", "..cat a.cat .cat.");
+        assertSameMatches("a b", "a b a  b xa b");
+    }
+
+    @Test
+    void caseFolding() {
+        assertSameMatches("Straße", "STRAẞE strasse straße");
+        assertSameMatches("ẞ", "ß ẞ");
+        assertSameMatches("kelvin", "KELVIN kelvin");
+        assertSameMatches("σ", "Σ σ ς");
+    }
+
+    @Test
+    void loneSharpS() {
+        // Documented difference, the regex only matches ß itself
+        assertEquals(List.of("0,1,0,1"), normalMatches("ß", "ẞ"));
+        assertEquals(List.of(), regexMatches("ß", "ẞ"));
+    }
+
+    @Test
+    void surrogatePairs() {
+        assertSameMatches("😀", "😀 a😀 😀😀");
+        assertSameMatches("a", "😀a 𐐨a 𐐀a");
+        assertSameMatches("𐐨", "𐐀 𐐨");
+    }
+
+    @Test
+    void foldPreservesLength() {
+        for (int cp = 0; cp <= Character.MAX_CODE_POINT; cp++) {
+            if (Character.isSurrogate((char)cp) && cp <= 0xFFFF) continue;
+            assertEquals(Character.charCount(cp), 
+                    Character.charCount(NormalMatcher.foldCodePoint(cp)));
+        }
+    }
+
+    @Test
+    void findAt() {
+        String str = "a cat, (cat";
+        NormalMatcher matcher = new NormalMatcher(str, NormalMatcher.fold(str), "cat");
+        assertTrue(matcher.findAt(8));
+        assertEquals(7, matcher.start());
+        assertEquals(11, matcher.end());
+        assertFalse(matcher.findAt(4));
+    }
+
+    @Test
+    void fuzzAgainstRegex() {
+        Random random = new Random(SEED);
+        for (int i = 0; i < FUZZ_TRIGGERS; i++) {
+            String trigger = randomString(random, 1, 3);
+            if (trigger.equals("ß")) continue;
+            for (int j = 0; j < FUZZ_INPUTS; j++) {
+                String input = randomString(random, 0, 12);
+                // Plant the trigger to make matches likely
+                if (random.nextBoolean()) {
+                    int at = input.offsetByCodePoints(0, 
+                            random.nextInt(input.codePointCount(0, input.length()) + 1));
+                    input = input.substring(0, at) + trigger + input.substring(at);
+                }
+                assertSameMatches(trigger, input);
+            }
+        }
+    }
+
+    // Utilities
+
+    private static void assertSameMatches(String trigger, String input) {
+        assertEquals(regexMatches(trigger, input), normalMatches(trigger, input),
+                () -> "trigger " + escape(trigger) + " on input " + escape(input));
+    }
+
+    private static List<String> regexMatches(String trigger, String input) {
+        List<String> matches = new ArrayList<>();
+        Matcher matcher = Pattern.compile("(?iU)(?<!\\w)(\\W?)" + Pattern.quote(trigger) 
+                + "(\\W?)(?!\\w)").matcher(input);
+        while (matcher.find()) {
+            matches.add(matcher.start() + "," + matcher.end() + "," 
+                    + matcher.end(1) + "," + matcher.start(2));
+        }
+        return matches;
+    }
+
+    private static List<String> normalMatches(String trigger, String input) {
+        List<String> matches = new ArrayList<>();
+        NormalMatcher matcher = new NormalMatcher(input, NormalMatcher.fold(input), 
+                NormalMatcher.fold(trigger));
+        while (matcher.find()) {
+            matches.add(matcher.start() + "," + matcher.end() + "," 
+                    + matcher.innerStart() + "," + matcher.innerEnd());
+        }
+        return matches;
+    }
+
+    private static String escape(String str) {
+        StringBuilder sb = new StringBuilder("\"");
+        str.codePoints().forEach((cp) -> {
+            if (cp >= 0x20 && cp < 0x7F) sb.appendCodePoint(cp);
+            else sb.append(String.format("\\x{%X}", cp));
+        });
+        return sb.append('"').toString();
+    }
+
+    private static String randomString(Random random, int minLength, int maxLength) {
+        StringBuilder sb = new StringBuilder();
+        int length = minLength + random.nextInt(maxLength - minLength + 1);
+        for (int i = 0; i < length; i++) {
+            sb.appendCodePoint(ALPHABET[random.nextInt(ALPHABET.length)]);
+        }
+        return sb.toString();
+    }
+}
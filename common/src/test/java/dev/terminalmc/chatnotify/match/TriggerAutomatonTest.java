@@ -0,0 +1,74 @@
+/*
+ * Copyright 2025 TerminalMC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package dev.terminalmc.chatnotify.match;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks {@link TriggerAutomaton} against {@link String#contains}.
+ */
+class TriggerAutomatonTest {
+    private static final long SEED = 0x5EEDL;
+    private static final int FUZZ_ROUNDS = 2000;
+    private static final int FUZZ_INPUTS = 16;
+    private static final String ALPHABET = "abc .😀";
+
+    @Test
+    void overlappingStrings() {
+        TriggerAutomaton automaton = new TriggerAutomaton(
+                List.of("he", "she", "his", "hers", "", "hers"));
+        assertEquals(6, automaton.size());
+        assertArrayEquals(new boolean[]{true, true, false, true, false, true},
+                automaton.search("ushers"), () -> "ushers");
+        assertArrayEquals(new boolean[6], automaton.search(""), () -> "empty");
+    }
+
+    @Test
+    void fuzzAgainstContains() {
+        Random random = new Random(SEED);
+        for (int i = 0; i < FUZZ_ROUNDS; i++) {
+            List<String> strings = new ArrayList<>();
+            int count = random.nextInt(12);
+            for (int j = 0; j < count; j++) strings.add(randomString(random, 4));
+            TriggerAutomaton automaton = new TriggerAutomaton(strings);
+            for (int j = 0; j < FUZZ_INPUTS; j++) {
+                String input = randomString(random, 16);
+                boolean[] expected = new boolean[count];
+                for (int k = 0; k < count; k++) {
+                    expected[k] = !strings.get(k).isEmpty() && input.contains(strings.get(k));
+                }
+                assertArrayEquals(expected, automaton.search(input),
+                        () -> strings + " in \"" + input + "\"");
+            }
+        }
+    }
+
+    private static String randomString(Random random, int maxLength) {
+        StringBuilder sb = new StringBuilder();
+        int length = random.nextInt(maxLength + 1);
+        for (int i = 0; i < length; i++) {
+            sb.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+        }
+        return sb.toString();
+    }
+}
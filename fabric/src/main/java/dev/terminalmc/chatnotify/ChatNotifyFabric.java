@@ -17,6 +17,7 @@
 package dev.terminalmc.chatnotify;
 
 import net.fabricmc.api.ClientModInitializer;
+import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientLifecycleEvents;
 import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientTickEvents;
 import net.fabricmc.loader.api.FabricLoader;
 
@@ -24,6 +25,7 @@ public class ChatNotifyFabric implements ClientModInitializer {
     @Override
     public void onInitializeClient() {
         ClientTickEvents.END_CLIENT_TICK.register(ChatNotify::onEndTick);
+        ClientLifecycleEvents.CLIENT_STOPPING.register((mc) -> ChatNotify.onShutdown());
         ChatNotify.init();
     }
 }
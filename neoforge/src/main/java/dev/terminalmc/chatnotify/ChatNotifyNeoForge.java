@@ -25,6 +25,7 @@ import net.neoforged.fml.common.EventBusSubscriber;
 import net.neoforged.fml.common.Mod;
 import net.neoforged.neoforge.client.event.ClientTickEvent;
 import net.neoforged.neoforge.client.gui.IConfigScreenFactory;
+import net.neoforged.neoforge.event.GameShuttingDownEvent;
 
 @Mod(value = ChatNotify.MOD_ID, dist = Dist.CLIENT)
 public class ChatNotifyNeoForge {
@@ -41,5 +42,10 @@ public class ChatNotifyNeoForge {
         public static void clientTickEvent(ClientTickEvent.Post event) {
             ChatNotify.onEndTick(Minecraft.getInstance());
         }
+
+        @SubscribeEvent
+        public static void gameShuttingDownEvent(GameShuttingDownEvent event) {
+            ChatNotify.onShutdown();
+        }
     }
 }